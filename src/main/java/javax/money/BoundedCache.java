@@ -0,0 +1,134 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent cache holding a bounded number of entries. Lookups do not lock and, as long as no new entries are
+ * added, do not write shared state. When the cache is full, adding an entry evicts the least recently used of a
+ * small sample of entries, approximating least recently used eviction without serializing the lookups.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class BoundedCache<K, V> {
+    /**
+     * The number of entries inspected for evicting an entry.
+     */
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    /**
+     * Logical time, advanced when entries are added. Updated without synchronization, since it only has to
+     * order the entries roughly.
+     */
+    private volatile long clock;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximal number of entries, positive.
+     */
+    BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Access the value cached for a key, marking it as recently used.
+     *
+     * @param key the key, not null.
+     * @return the value, or {@code null}.
+     */
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = clock;
+        if (entry.lastAccess != now) {
+            entry.lastAccess = now;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Adds a value, unless a value is already cached for the key. If the cache is full, an entry is evicted
+     * first.
+     *
+     * @param key   the key, not null.
+     * @param value the value, not null.
+     * @return the value cached for the key, never null.
+     */
+    V put(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        while (entries.size() >= maxSize) {
+            evict();
+        }
+        long now = clock + 1;
+        clock = now;
+        entry = entries.putIfAbsent(key, new Entry<>(value, now));
+        return entry == null ? value : entry.value;
+    }
+
+    /**
+     * Access the number of entries cached.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evicts the least recently used entry of a sample of entries.
+     */
+    private void evict() {
+        K eldestKey = null;
+        Entry<V> eldest = null;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLES && it.hasNext(); i++) {
+            Map.Entry<K, Entry<V>> en = it.next();
+            if (eldest == null || en.getValue().lastAccess < eldest.lastAccess) {
+                eldestKey = en.getKey();
+                eldest = en.getValue();
+            }
+        }
+        if (eldest != null) {
+            entries.remove(eldestKey, eldest);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
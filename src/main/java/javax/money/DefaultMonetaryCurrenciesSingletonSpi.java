@@ -16,16 +16,41 @@
  */
 package javax.money;
 
+import javax.money.spi.BaseMonetaryCurrenciesSingletonSpi;
 import javax.money.spi.Bootstrap;
+import javax.money.spi.CurrencyProviderListener;
 import javax.money.spi.CurrencyProviderSpi;
-import javax.money.spi.MonetaryCurrenciesSingletonSpi;
+import javax.money.spi.MutableCurrencies;
+import javax.money.spi.ReloadableCurrencyProviderSpi;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,27 +58,492 @@ import java.util.logging.Logger;
  * Factory singleton for {@link javax.money.CurrencyUnit} instances as provided by the
  * different registered {@link javax.money.spi.CurrencyProviderSpi} instances.
  * <p>
+ * Currencies resolved by code are kept in an index per provider chain, so repeated lookups of the same code
+ * are answered by a single map lookup. Explicitly requested chains are indexed in a bounded cache, by the
+ * names of their registered providers only. Currency codes {@link PackedCurrencyCode packed} into an {@code int} are
+ * resolved by an array lookup, without hashing a {@link String}. Likewise ISO 4217 numeric codes are resolved by an array lookup, and
+ * the currencies of a country are kept as shared immutable set. The indexes are discarded whenever the
+ * {@link CurrencyProviderSpi} services returned by the {@link javax.money.spi.Bootstrap} change, or a
+ * {@link ReloadableCurrencyProviderSpi} publishes new currencies.
+ * <p>
+ * All currencies returned are interned: for each provider and currency code the first instance returned by the
+ * provider is handed out for all later requests, so currencies can be compared by identity. Each such canonical
+ * instance is assigned a dense {@link #getOrdinal(CurrencyUnit) ordinal}, starting from {@code 0}. If a provider
+ * returns a currency with a different definition for a code, the new instance becomes the canonical one and takes
+ * over the ordinal of the instance replaced. Canonical instances no longer provided, because their provider was
+ * removed or a {@link ReloadableCurrencyProviderSpi} dropped them, are discarded and their ordinals reused.
+ * <p>
+ * By default the currencies of all providers are cached, assuming they only change by publishing them as
+ * {@link ReloadableCurrencyProviderSpi}. Provider chains containing a provider, whose currencies may change
+ * without notice, are not cached but queried on each request. Such providers are annotated with
+ * {@link MutableCurrencies}, or, if they cannot be changed, listed by provider name in the comma separated
+ * system property {@code javax.money.mutableCurrencyProviders}.
+ * <p>
+ * Unknown currency codes are remembered in a bounded set per provider chain, so requests for invalid codes
+ * do not query the providers again. Setting the system property {@code javax.money.stacklessExceptions} to
+ * {@code true} additionally creates the exceptions thrown for unknown currencies without stack trace.
+ * <p>
+ * The results of {@link #getCurrencies(CurrencyQuery)} are kept as shared immutable sets in a bounded cache with
+ * least recently used eviction, keyed by the query. Results are only cached, if all providers answered.
+ * <p>
+ * By default the providers are queried one after the other. If the system property
+ * {@code javax.money.currencyProviderTimeout} is set to a positive number of milliseconds, they are queried
+ * concurrently on daemon threads instead. The results are still merged in the order of the provider chain,
+ * providers not answering within the timeout are logged and skipped.
+ * <p>
  * This class is thread safe.
  *
  * @author Anatole Tresch
  * @version 0.9
  */
-final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesSingletonSpi {
+final class DefaultMonetaryCurrenciesSingletonSpi extends BaseMonetaryCurrenciesSingletonSpi {
+
+    /**
+     * The number of ISO 4217 numeric codes, which are in the range {@code 0-999}.
+     */
+    private static final int NUMERIC_CODES = 1000;
+    /**
+     * The maximal number of unknown currency codes remembered per provider chain.
+     */
+    private static final int MAX_UNKNOWN_CODES = 1024;
+    /**
+     * The maximal number of locales, whose currencies are remembered per provider chain.
+     */
+    static final int MAX_CACHED_LOCALES = 1024;
+    /**
+     * The maximal number of query results cached.
+     */
+    private static final int MAX_CACHED_QUERIES = 256;
+    /**
+     * The maximal number of explicitly requested provider chains indexed.
+     */
+    static final int MAX_CHAIN_INDEXES = 32;
+    /**
+     * The system property, which if set to {@code true}, creates the exceptions thrown for unknown currencies
+     * without stack trace.
+     */
+    static final String STACKLESS_EXCEPTIONS_PROPERTY = "javax.money.stacklessExceptions";
+    /**
+     * Whether to create the exceptions thrown for unknown currencies without stack trace.
+     */
+    private static final boolean STACKLESS_EXCEPTIONS = Boolean.getBoolean(STACKLESS_EXCEPTIONS_PROPERTY);
+    /**
+     * The system property defining the timeout in milliseconds, after which providers queried concurrently
+     * are skipped. If not set, the providers are queried one after the other.
+     */
+    static final String PROVIDER_TIMEOUT_PROPERTY = "javax.money.currencyProviderTimeout";
+    /**
+     * The system property listing the names of providers, whose currencies are not cached, separated by commas.
+     */
+    static final String MUTABLE_PROVIDERS_PROPERTY = "javax.money.mutableCurrencyProviders";
+    /**
+     * The execution configured by {@link #PROVIDER_TIMEOUT_PROPERTY}, or {@code null}.
+     */
+    private static final ProviderExecution DEFAULT_PROVIDER_EXECUTION = createProviderExecution();
+    /**
+     * The number of changes published by {@link ReloadableCurrencyProviderSpi} instances.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    static {
+        ReloadableCurrencyProviderSpi.addListener(new CurrencyProviderListener() {
+            @Override
+            public void currenciesChanged(CurrencyProviderSpi provider) {
+                GENERATION.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * The providers by name.
+     */
+    private volatile ProviderIndex providerIndex;
+    /**
+     * The index of the default provider chain.
+     */
+    private volatile CurrencyIndex defaultIndex;
+    /**
+     * The indexes of explicitly requested provider chains.
+     */
+    private volatile ChainIndexes chainIndexes;
+    /**
+     * The canonical currency instances, per provider name and currency code.
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Canonical>> interned =
+            new ConcurrentHashMap<>();
+    /**
+     * The ordinals of discarded canonical instances, guarded by {@link #interned}.
+     */
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    /**
+     * The next ordinal never assigned so far, guarded by {@link #interned}.
+     */
+    private int nextOrdinal;
+    /**
+     * The services and generation the canonical instances were last checked for, guarded by {@link #interned}.
+     */
+    private Collection<CurrencyProviderSpi> internedServices;
+    private long internedGeneration;
+    /**
+     * The results of recent queries.
+     */
+    private volatile QueryCache queryCache;
+    /**
+     * The executor used for querying the providers concurrently, or {@code null}.
+     */
+    private volatile ProviderExecution providerExecution = DEFAULT_PROVIDER_EXECUTION;
+
+    /**
+     * Evaluates the execution configured by {@link #PROVIDER_TIMEOUT_PROPERTY}.
+     *
+     * @return the execution, or {@code null}, if the providers are queried one after the other.
+     */
+    private static ProviderExecution createProviderExecution() {
+        long timeout;
+        try {
+            timeout = Long.getLong(PROVIDER_TIMEOUT_PROPERTY, 0L);
+        } catch (SecurityException e) {
+            return null;
+        }
+        if (timeout <= 0) {
+            return null;
+        }
+        ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "javax.money.currency-provider");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        return new ProviderExecution(executor, TimeUnit.MILLISECONDS.toNanos(timeout));
+    }
+
+    /**
+     * Configures the executor used by this instance for querying the {@link CurrencyProviderSpi} instances
+     * concurrently, overriding {@link #PROVIDER_TIMEOUT_PROPERTY}.
+     *
+     * @param executor the executor, or {@code null}, for querying the providers sequentially.
+     * @param timeout  the maximal time to wait for a provider.
+     * @param unit     the time unit of the timeout, not null.
+     */
+    void setProviderExecutor(ExecutorService executor, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(unit);
+        if (executor == null) {
+            providerExecution = null;
+        } else {
+            if (timeout <= 0) {
+                throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+            }
+            providerExecution = new ProviderExecution(executor, unit.toNanos(timeout));
+        }
+    }
 
     @Override
     public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
-        Set<CurrencyUnit> result = new HashSet<>();
-        List<CurrencyProviderSpi> providers = collectProviders(query);
+        Objects.requireNonNull(query, "Query may not be null");
+        List<String> providerNames = query.getProviderNames();
+        if (!getIndex(providerNames.toArray(new String[providerNames.size()])).cacheable) {
+            Set<CurrencyUnit> currencies = new LinkedHashSet<>();
+            loadCurrencies(query, collectProviders(query), currencies);
+            return Collections.unmodifiableSet(currencies);
+        }
+        QueryCache cache = getQueryCache();
+        Set<CurrencyUnit> result = cache.results.get(query);
+        if (result != null) {
+            return result;
+        }
+        Set<CurrencyUnit> currencies = new LinkedHashSet<>();
+        result = Collections.unmodifiableSet(currencies);
+        if (loadCurrencies(query, collectProviders(query), currencies)) {
+            return cache.results.put(query, result);
+        }
+        return result;
+    }
+
+    /**
+     * Queries the providers selected by the query.
+     *
+     * @param query     the query, not null.
+     * @param providers the providers selected by the query, not null.
+     * @param result    the set the currencies found are added to, not null.
+     * @return {@code true}, if all providers answered, {@code false}, if a provider failed or timed out.
+     */
+    private boolean loadCurrencies(CurrencyQuery query, List<CurrencyProviderSpi> providers,
+                                   Set<CurrencyUnit> result) {
+        ProviderExecution execution = providerExecution;
+        if (execution != null && !providers.isEmpty()) {
+            return loadCurrencies(query, providers, execution, result);
+        }
+        boolean complete = true;
         for (CurrencyProviderSpi spi : providers) {
             try {
-                result.addAll(spi.getCurrencies(query));
+                Set<CurrencyUnit> currencies = spi.getCurrencies(query);
+                if (currencies != null && !currencies.isEmpty()) {
+                    String providerName = spi.getProviderName();
+                    for (CurrencyUnit currency : currencies) {
+                        result.add(intern(providerName, currency));
+                    }
+                }
             } catch (Exception e) {
+                complete = false;
                 Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
                         .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
                                 e);
             }
         }
-        return result;
+        return complete;
+    }
+
+    /**
+     * Checks if the currencies of the given providers may be cached, i.e. if none of them is
+     * {@link ProviderIndex#mutableProviders mutable}.
+     *
+     * @param providers the providers, not null.
+     * @return {@code true}, if all providers are cacheable.
+     */
+    private boolean isCacheable(Collection<? extends CurrencyProviderSpi> providers) {
+        Set<CurrencyProviderSpi> mutableProviders = getProviderIndex().mutableProviders;
+        if (!mutableProviders.isEmpty()) {
+            for (CurrencyProviderSpi spi : providers) {
+                if (mutableProviders.contains(spi)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queries the given providers concurrently. The results are merged in the order of the providers, providers
+     * not answering within the configured timeout are skipped. Queries still running, when returning or being
+     * interrupted, are cancelled.
+     *
+     * @param query     the query, not null.
+     * @param providers the providers, not null.
+     * @param execution the executor and timeout, not null.
+     * @param result    the set the currencies found are added to, not null.
+     * @return {@code true}, if all providers answered, {@code false}, if a provider failed or timed out.
+     */
+    private boolean loadCurrencies(final CurrencyQuery query, List<CurrencyProviderSpi> providers,
+                                   ProviderExecution execution, Set<CurrencyUnit> result) {
+        List<Future<Set<CurrencyUnit>>> results = new ArrayList<>(providers.size());
+        for (final CurrencyProviderSpi spi : providers) {
+            Callable<Set<CurrencyUnit>> task = new Callable<Set<CurrencyUnit>>() {
+                @Override
+                public Set<CurrencyUnit> call() {
+                    return spi.getCurrencies(query);
+                }
+            };
+            try {
+                results.add(execution.executor.submit(task));
+            } catch (RejectedExecutionException e) {
+                results.add(null);
+            }
+        }
+        long deadline = System.nanoTime() + execution.timeoutNanos;
+        boolean complete;
+        try {
+            complete = mergeCurrencies(providers, results, deadline, query, result);
+        } finally {
+            for (Future<Set<CurrencyUnit>> future : results) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Merges the results of providers queried concurrently, in the order of the providers.
+     *
+     * @param providers the providers, not null.
+     * @param results   the pending results of the providers, {@code null} for providers to query directly.
+     * @param deadline  the {@link System#nanoTime()} after which providers not answered are skipped.
+     * @param query     the query, not null.
+     * @param result    the set the currencies found are added to, not null.
+     * @return {@code true}, if all providers answered, {@code false}, if a provider failed or timed out.
+     */
+    private boolean mergeCurrencies(List<CurrencyProviderSpi> providers, List<Future<Set<CurrencyUnit>>> results,
+                                    long deadline, CurrencyQuery query, Set<CurrencyUnit> result) {
+        boolean complete = true;
+        for (int i = 0; i < results.size(); i++) {
+            CurrencyProviderSpi spi = providers.get(i);
+            Future<Set<CurrencyUnit>> future = results.get(i);
+            try {
+                Set<CurrencyUnit> currencies;
+                if (future == null) {
+                    currencies = spi.getCurrencies(query);
+                } else {
+                    currencies = future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+                if (currencies != null && !currencies.isEmpty()) {
+                    String providerName = spi.getProviderName();
+                    for (CurrencyUnit currency : currencies) {
+                        result.add(intern(providerName, currency));
+                    }
+                }
+            } catch (TimeoutException e) {
+                complete = false;
+                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
+                        .warning("Currency provider timed out, ignoring: " + spi.getClass().getName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MonetaryException("Interrupted while querying currency providers.", e);
+            } catch (ExecutionException e) {
+                complete = false;
+                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
+                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
+                                e.getCause());
+            } catch (Exception e) {
+                complete = false;
+                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
+                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
+                                e);
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Access the ordinal of a currency returned by this instance. Ordinals are assigned densely, starting
+     * from {@code 0}, in the order currencies are first returned, so they can be used as array indexes.
+     *
+     * @param currency the currency, not null.
+     * @return the ordinal, or {@code -1}, if the instance is not a canonical instance of this singleton.
+     */
+    @Override
+    public int getOrdinal(CurrencyUnit currency) {
+        String code = currency.getCurrencyCode();
+        if (code == null) {
+            return -1;
+        }
+        for (Map<String, Canonical> currencies : interned.values()) {
+            Canonical canonical = currencies.get(code);
+            if (canonical != null && canonical.currency == currency) {
+                return canonical.ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Access the number of query results currently cached.
+     *
+     * @return the number of cached queries.
+     */
+    int getCachedQueryCount() {
+        QueryCache cache = queryCache;
+        return cache == null ? 0 : cache.results.size();
+    }
+
+    /**
+     * Access the number of explicitly requested provider chains currently indexed.
+     *
+     * @return the number of chain indexes.
+     */
+    int getChainIndexCount() {
+        ChainIndexes indexes = chainIndexes;
+        return indexes == null ? 0 : indexes.size();
+    }
+
+    /**
+     * Evaluates the canonical instance for a currency returned by a provider.
+     *
+     * @param providerName the name of the provider, which returned the currency.
+     * @param currency     the currency, not null.
+     * @return the canonical instance, never null.
+     */
+    private CurrencyUnit intern(String providerName, CurrencyUnit currency) {
+        String code = currency.getCurrencyCode();
+        if (code == null) {
+            return currency;
+        }
+        if (providerName == null) {
+            providerName = "";
+        }
+        ConcurrentHashMap<String, Canonical> currencies = interned.get(providerName);
+        Canonical canonical = currencies == null ? null : currencies.get(code);
+        if (canonical != null && (canonical.currency == currency || isSameDefinition(canonical.currency, currency))) {
+            return canonical.currency;
+        }
+        synchronized (interned) {
+            discardStaleCanonicals();
+            currencies = interned.get(providerName);
+            if (currencies == null) {
+                currencies = new ConcurrentHashMap<>();
+                interned.put(providerName, currencies);
+            }
+            canonical = currencies.get(code);
+            if (canonical == null) {
+                int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+                canonical = new Canonical(currency, ordinal);
+                currencies.put(code, canonical);
+            } else if (canonical.currency != currency && !isSameDefinition(canonical.currency, currency)) {
+                canonical = new Canonical(currency, canonical.ordinal);
+                currencies.put(code, canonical);
+            }
+            return canonical.currency;
+        }
+    }
+
+    /**
+     * Discards the canonical instances of providers no longer registered, and the ones no longer provided by a
+     * {@link ReloadableCurrencyProviderSpi}, if the services or currencies published changed since the last
+     * check. Must be called holding the lock on {@link #interned}.
+     */
+    private void discardStaleCanonicals() {
+        Collection<CurrencyProviderSpi> services = Bootstrap.getServices(CurrencyProviderSpi.class);
+        long generation = GENERATION.get();
+        if (internedServices == services && internedGeneration == generation) {
+            return;
+        }
+        internedServices = services;
+        internedGeneration = generation;
+        Map<String, CurrencyProviderSpi> providers = new HashMap<>();
+        for (CurrencyProviderSpi spi : services) {
+            String providerName = spi.getProviderName();
+            providers.put(providerName == null ? "" : providerName, spi);
+        }
+        for (Iterator<Map.Entry<String, ConcurrentHashMap<String, Canonical>>> entries =
+                     interned.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<String, ConcurrentHashMap<String, Canonical>> entry = entries.next();
+            CurrencyProviderSpi spi = providers.get(entry.getKey());
+            if (spi == null) {
+                for (Canonical canonical : entry.getValue().values()) {
+                    freeOrdinals.push(canonical.ordinal);
+                }
+                entries.remove();
+            } else if (spi instanceof ReloadableCurrencyProviderSpi) {
+                Map<String, CurrencyUnit> provided = new HashMap<>();
+                for (CurrencyUnit currency : spi.getCurrencies(CurrencyQueryBuilder.of().build())) {
+                    provided.put(currency.getCurrencyCode(), currency);
+                }
+                for (Iterator<Canonical> canonicals = entry.getValue().values().iterator(); canonicals.hasNext(); ) {
+                    Canonical canonical = canonicals.next();
+                    CurrencyUnit currency = provided.get(canonical.currency.getCurrencyCode());
+                    if (currency == null || (currency != canonical.currency
+                            && !isSameDefinition(canonical.currency, currency))) {
+                        freeOrdinals.push(canonical.ordinal);
+                        canonicals.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if two currencies with the same code are defined the same way.
+     *
+     * @param canonical the canonical instance, not null.
+     * @param currency  the currency returned by a provider, not null.
+     * @return {@code true}, if the currencies are equal and have the same numeric code and fraction digits.
+     */
+    private static boolean isSameDefinition(CurrencyUnit canonical, CurrencyUnit currency) {
+        return canonical.getNumericCode() == currency.getNumericCode()
+                && canonical.getDefaultFractionDigits() == currency.getDefaultFractionDigits()
+                && canonical.equals(currency);
     }
 
     private List<CurrencyProviderSpi> collectProviders(CurrencyQuery query) {
@@ -70,40 +560,24 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
             }
         }
         else{
-            for(String providerName:getDefaultProviderChain()){
-                CurrencyProviderSpi provider = getProvider(providerName);
-                if (provider == null) {
-                    Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName()).warning("No such currency " +
-                            "provider found, ignoring: " + providerName);
-                } else {
-                    result.add(provider);
-                }
-            }
+            result.addAll(Bootstrap.getServices(CurrencyProviderSpi.class));
         }
         return result;
     }
 
     private CurrencyProviderSpi getProvider(String providerName) {
-        for(CurrencyProviderSpi provider:Bootstrap.getServices(CurrencyProviderSpi.class)){
-            if(provider.getProviderName().equals(providerName)){
-                return provider;
-            }
-        }
-        return null;
+        return getProviderIndex().providers.get(providerName);
     }
 
     /**
-     * This default implementation simply returns all providers defined in arbitrary order.
+     * This default implementation simply returns all providers defined, in the order of their
+     * {@link javax.money.spi.ServicePriority}.
      *
      * @return the default provider chain, never null.
      */
     @Override
     public List<String> getDefaultProviderChain() {
-        List<String> provList = new ArrayList<>();
-        for(CurrencyProviderSpi currencyProviderSpi:Bootstrap.getServices(CurrencyProviderSpi.class)){
-            provList.add(currencyProviderSpi.getProviderName());
-        }
-        return provList;
+        return getProviderIndex().defaultChain;
     }
 
     /**
@@ -113,17 +587,7 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      */
     @Override
     public Set<String> getProviderNames() {
-        Set<String> result = new HashSet<>();
-        for (CurrencyProviderSpi spi : Bootstrap.getServices(CurrencyProviderSpi.class)) {
-            try {
-                result.add(spi.getProviderName());
-            } catch (Exception e) {
-                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
-                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
-                                e);
-            }
-        }
-        return result;
+        return getProviderIndex().providers.keySet();
     }
 
     /**
@@ -138,11 +602,151 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      * @throws javax.money.UnknownCurrencyException if no such currency exists.
      */
     public CurrencyUnit getCurrency(String currencyCode, String... providers) {
+        CurrencyUnit currency = findCurrency(currencyCode, providers);
+        if (currency == null) {
+            throw new UnknownCurrencyException(currencyCode, !STACKLESS_EXCEPTIONS);
+        }
+        return currency;
+    }
+
+    /**
+     * Access a currency based on the currency code, without throwing an exception for unknown codes.
+     * Unknown codes are remembered, so repeated requests for them do not query the providers again.
+     *
+     * @param currencyCode the ISO currency code, not {@code null}.
+     * @param providers    the (optional) specification of providers to consider. If not set (empty) the providers
+     *                     as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance, or {@code null}.
+     * @throws javax.money.MonetaryException if multiple currencies match the code.
+     */
+    @Override
+    public CurrencyUnit findCurrency(String currencyCode, String... providers) {
         Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+        CurrencyIndex index = getIndex(providers);
+        CurrencyUnit currency = index.currencies.get(currencyCode);
+        if (currency == null) {
+            if (index.unknownCodes.containsKey(currencyCode)) {
+                return null;
+            }
+            currency = loadCurrency(currencyCode, providers);
+            if (currency == null) {
+                index.addUnknownCode(currencyCode);
+                return null;
+            }
+            index.putCurrency(currencyCode, currency);
+        }
+        return currency;
+    }
+
+    /**
+     * Access a currency based on its {@link PackedCurrencyCode packed} currency code, without creating a
+     * {@link String} once the currency was resolved.
+     *
+     * @param packedCode the packed currency code.
+     * @param providers  the (optional) specification of providers to consider. If not set (empty) the providers
+     *                   as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance, or {@code null}.
+     * @throws IllegalArgumentException if the packed code is not valid.
+     * @throws javax.money.MonetaryException if multiple currencies match the code.
+     */
+    @Override
+    public CurrencyUnit findCurrencyByPackedCode(int packedCode, String... providers) {
+        if (packedCode < 0 || packedCode >= PackedCurrencyCode.SIZE) {
+            throw new IllegalArgumentException("Invalid packed currency code: " + packedCode);
+        }
+        CurrencyIndex index = getIndex(providers);
+        if (!index.cacheable) {
+            return findCurrency(PackedCurrencyCode.unpack(packedCode), providers);
+        }
+        AtomicReferenceArray<CurrencyUnit> packedCurrencies = index.getPackedCurrencies();
+        CurrencyUnit currency = packedCurrencies.get(packedCode);
+        if (currency == null) {
+            currency = findCurrency(PackedCurrencyCode.unpack(packedCode), providers);
+            if (currency != null) {
+                packedCurrencies.compareAndSet(packedCode, null, currency);
+            }
+        }
+        return currency;
+    }
+
+    /**
+     * Access the currencies for the given codes in one pass. Each distinct code is resolved once, codes not
+     * yet indexed are queried from the providers using one single {@link CurrencyQuery}. Codes the providers
+     * did not return a currency for are remembered as unknown. The combined query is not cached, since it is
+     * unlikely to be repeated.
+     *
+     * @param currencyCodes the ISO currency codes, not {@code null}, may contain duplicates.
+     * @param providers     the (optional) specification of providers to consider. If not set (empty) the
+     *                      providers as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the currencies, in the order of the codes passed, containing {@code null} for unknown codes.
+     * @throws javax.money.MonetaryException if multiple currencies match a code.
+     */
+    @Override
+    public List<CurrencyUnit> findCurrencies(List<String> currencyCodes, String... providers) {
+        CurrencyIndex index = getIndex(providers);
+        Map<String, CurrencyUnit> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String currencyCode : currencyCodes) {
+            Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+            if (resolved.containsKey(currencyCode) || missing.contains(currencyCode)) {
+                continue;
+            }
+            CurrencyUnit currency = index.currencies.get(currencyCode);
+            if (currency != null || index.unknownCodes.containsKey(currencyCode)) {
+                resolved.put(currencyCode, currency);
+            } else {
+                missing.add(currencyCode);
+            }
+        }
+        if (!missing.isEmpty()) {
+            CurrencyQuery query = CurrencyQueryBuilder.of()
+                    .setCurrencyCodes(missing.toArray(new String[missing.size()])).setProviderNames(providers)
+                    .build();
+            Set<CurrencyUnit> currencies = new LinkedHashSet<>();
+            boolean complete = loadCurrencies(query, collectProviders(query), currencies);
+            Map<String, CurrencyUnit> found = new HashMap<>();
+            Set<String> ambiguous = new HashSet<>();
+            boolean unexpected = false;
+            for (CurrencyUnit currency : currencies) {
+                String currencyCode = currency.getCurrencyCode();
+                CurrencyUnit prev = found.put(currencyCode, currency);
+                if (prev != null && !prev.equals(currency)) {
+                    ambiguous.add(currencyCode);
+                }
+                unexpected |= !missing.contains(currencyCode);
+            }
+            for (String currencyCode : missing) {
+                CurrencyUnit currency = found.get(currencyCode);
+                if (ambiguous.contains(currencyCode) || (currency == null && (unexpected || !complete))) {
+                    // ambiguous, or a provider failed or did not answer by code, resolve it individually
+                    currency = findCurrency(currencyCode, providers);
+                } else if (currency == null) {
+                    index.addUnknownCode(currencyCode);
+                } else {
+                    index.putCurrency(currencyCode, currency);
+                }
+                resolved.put(currencyCode, currency);
+            }
+        }
+        List<CurrencyUnit> result = new ArrayList<>(currencyCodes.size());
+        for (String currencyCode : currencyCodes) {
+            result.add(resolved.get(currencyCode));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the currency for the given code by querying the providers.
+     *
+     * @param currencyCode the ISO currency code, not {@code null}.
+     * @param providers    the (optional) specification of providers to consider.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance, or {@code null}.
+     */
+    private CurrencyUnit loadCurrency(String currencyCode, String... providers) {
         Collection<CurrencyUnit> found =
                 getCurrencies(CurrencyQueryBuilder.of().setCurrencyCodes(currencyCode).setProviderNames(providers).build());
         if (found.isEmpty()) {
-            throw new UnknownCurrencyException(currencyCode);
+            return null;
         }
         if (found.size() > 1) {
             throw new MonetaryException("Ambiguous CurrencyUnit for code: " + currencyCode + ": " + found);
@@ -150,6 +754,55 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
         return found.iterator().next();
     }
 
+    /**
+     * Access a currency based on its ISO 4217 numeric code. Currencies are
+     * available as provided by {@link javax.money.spi.CurrencyProviderSpi} instances registered
+     * with the {@link javax.money.spi.Bootstrap}.
+     * <p>
+     * On first access the currencies of the provider chain are read into a table with one slot per numeric
+     * code, codes not found or provided ambiguously are evaluated by querying the providers.
+     *
+     * @param numericCode the ISO numeric currency code.
+     * @param providers   the (optional) specification of providers to consider. If not set (empty) the providers
+     *                    as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance.
+     * @throws javax.money.UnknownCurrencyException if no such currency exists.
+     */
+    @Override
+    public CurrencyUnit getCurrency(int numericCode, String... providers) {
+        if (numericCode < 0 || numericCode >= NUMERIC_CODES) {
+            return loadCurrency(numericCode, providers);
+        }
+        CurrencyIndex index = getIndex(providers);
+        if (!index.cacheable) {
+            return loadCurrency(numericCode, providers);
+        }
+        AtomicReferenceArray<CurrencyUnit> numericCurrencies = index.getNumericCurrencies(this, providers);
+        CurrencyUnit currency = numericCurrencies.get(numericCode);
+        if (currency == null) {
+            currency = loadCurrency(numericCode, providers);
+            numericCurrencies.compareAndSet(numericCode, null, currency);
+        }
+        return currency;
+    }
+
+    /**
+     * Evaluates the currency for the given numeric code by querying the providers.
+     *
+     * @param numericCode the ISO numeric currency code.
+     * @param providers   the (optional) specification of providers to consider.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance.
+     * @throws javax.money.UnknownCurrencyException if no such currency exists.
+     */
+    private CurrencyUnit loadCurrency(int numericCode, String... providers) {
+        CurrencyUnit currency =
+                getCurrency(CurrencyQueryBuilder.of().setNumericCodes(numericCode).setProviderNames(providers).build());
+        if (currency == null) {
+            throw new UnknownCurrencyException(String.valueOf(numericCode), !STACKLESS_EXCEPTIONS);
+        }
+        return currency;
+    }
+
     /**
      * Access a new instance based on the currency code. Currencies are
      * available as provided by {@link javax.money.spi.CurrencyProviderSpi} instances registered
@@ -162,10 +815,10 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      * @throws javax.money.UnknownCurrencyException if no such currency exists.
      */
     public CurrencyUnit getCurrency(Locale country, String... providers) {
-        Collection<CurrencyUnit> found =
-                getCurrencies(CurrencyQueryBuilder.of().setCountries(country).setProviderNames(providers).build());
+        Collection<CurrencyUnit> found = getCurrencies(country, providers);
         if (found.isEmpty()) {
-            throw new MonetaryException("No currency unit found for locale: " + country);
+            throw new MonetaryException("No currency unit found for locale: " + country, null,
+                    !STACKLESS_EXCEPTIONS);
         }
         if (found.size() > 1) {
             throw new MonetaryException("Ambiguous CurrencyUnit for locale: " + country + ": " + found);
@@ -180,10 +833,28 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      *                  not {@code null}.
      * @param providers the (optional) specification of providers to consider. If not set (empty) the providers
      *                  as defined by #getDefaultRoundingProviderChain() should be used.
-     * @return a collection of all known currencies, never null.
+     * @return an immutable collection of all known currencies, never null.
      */
     public Set<CurrencyUnit> getCurrencies(Locale locale, String... providers) {
-        return getCurrencies(CurrencyQueryBuilder.of().setCountries(locale).setProviderNames(providers).build());
+        Objects.requireNonNull(locale, "Locale may not be null");
+        CurrencyIndex index = getIndex(providers);
+        Set<CurrencyUnit> currencies = index.countryCurrencies.get(locale);
+        if (currencies == null) {
+            currencies = Collections.unmodifiableSet(
+                    getCurrencies(CurrencyQueryBuilder.of().setCountries(locale).setProviderNames(providers).build()));
+            currencies = index.addCountryCurrencies(locale, currencies);
+        }
+        return currencies;
+    }
+
+    /**
+     * Access the number of locales, whose currencies are remembered for the given provider chain.
+     *
+     * @param providers the (optional) specification of providers to consider.
+     * @return the number of locales remembered.
+     */
+    int getCachedLocaleCount(String... providers) {
+        return getIndex(providers).countryCurrencies.size();
     }
 
     /**
@@ -197,8 +868,19 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      * would return a result for the given code.
      */
     public boolean isCurrencyAvailable(String code, String... providers) {
-        return !getCurrencies(CurrencyQueryBuilder.of().setCurrencyCodes(code).setProviderNames(providers).build())
-                .isEmpty();
+        CurrencyIndex index = getIndex(providers);
+        if (index.currencies.containsKey(code)) {
+            return true;
+        }
+        if (index.unknownCodes.containsKey(code)) {
+            return false;
+        }
+        if (getCurrencies(CurrencyQueryBuilder.of().setCurrencyCodes(code).setProviderNames(providers).build())
+                .isEmpty()) {
+            index.addUnknownCode(code);
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -212,7 +894,7 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
      * non empty result for the given code.
      */
     public boolean isCurrencyAvailable(Locale locale, String... providers) {
-        return !getCurrencies(CurrencyQueryBuilder.of().setCountries(locale).setProviderNames(providers).build()).isEmpty();
+        return !getCurrencies(locale, providers).isEmpty();
     }
 
     /**
@@ -243,4 +925,356 @@ final class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesS
         }
         throw new MonetaryException("Ambiguous request for CurrencyUnit: " + query + ", found: " + currencies);
     }
+
+    /**
+     * Access the providers by name, rebuilding them, if the providers available changed.
+     *
+     * @return the provider index, never null.
+     */
+    private ProviderIndex getProviderIndex() {
+        Collection<CurrencyProviderSpi> services = Bootstrap.getServices(CurrencyProviderSpi.class);
+        ProviderIndex index = providerIndex;
+        if (index == null || index.services != services) {
+            index = new ProviderIndex(services);
+            providerIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Access the query cache, creating a new one, if the providers available changed.
+     *
+     * @return the query cache, never null.
+     */
+    private QueryCache getQueryCache() {
+        Collection<CurrencyProviderSpi> services = Bootstrap.getServices(CurrencyProviderSpi.class);
+        long generation = GENERATION.get();
+        QueryCache cache = queryCache;
+        if (cache == null || cache.services != services || cache.generation != generation) {
+            cache = new QueryCache(services, generation);
+            queryCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Access the index of the given provider chain, creating a new one, if the providers available changed.
+     *
+     * @param providers the provider chain, empty for the default chain.
+     * @return the index, never null.
+     */
+    private CurrencyIndex getIndex(String... providers) {
+        Collection<CurrencyProviderSpi> services = Bootstrap.getServices(CurrencyProviderSpi.class);
+        long generation = GENERATION.get();
+        if (providers.length == 0) {
+            CurrencyIndex index = defaultIndex;
+            if (index == null || index.services != services || index.generation != generation) {
+                index = new CurrencyIndex(services, generation, isCacheable(services));
+                defaultIndex = index;
+            }
+            return index;
+        }
+        ChainIndexes indexes = chainIndexes;
+        if (indexes == null || indexes.services != services || indexes.generation != generation) {
+            indexes = new ChainIndexes(services, generation);
+            chainIndexes = indexes;
+        }
+        CurrencyIndex index = indexes.get(Arrays.asList(providers));
+        if (index == null) {
+            List<String> knownChain = getKnownProviders(providers);
+            if (knownChain.isEmpty()) {
+                return indexes.unknownChainIndex;
+            }
+            index = indexes.get(knownChain);
+            if (index == null) {
+                List<CurrencyProviderSpi> chainProviders = new ArrayList<>(knownChain.size());
+                for (String providerName : knownChain) {
+                    chainProviders.add(getProvider(providerName));
+                }
+                index = indexes.put(knownChain,
+                        new CurrencyIndex(services, generation, isCacheable(chainProviders)));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Evaluates the names of the given providers, which are registered. Providers not registered are ignored
+     * when querying, so chains differing only by such names share the same index.
+     *
+     * @param providers the provider chain, not null.
+     * @return the names of the registered providers, in the order given, never null.
+     */
+    private List<String> getKnownProviders(String... providers) {
+        Map<String, CurrencyProviderSpi> registered = getProviderIndex().providers;
+        List<String> knownProviders = new ArrayList<>(providers.length);
+        for (String providerName : providers) {
+            if (registered.containsKey(providerName)) {
+                knownProviders.add(providerName);
+            }
+        }
+        return knownProviders;
+    }
+
+    /**
+     * The executor and timeout used for querying the providers concurrently.
+     */
+    private static final class ProviderExecution {
+        private final ExecutorService executor;
+        private final long timeoutNanos;
+
+        ProviderExecution(ExecutorService executor, long timeoutNanos) {
+            this.executor = executor;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    /**
+     * The results of recent queries, valid as long as {@link javax.money.spi.Bootstrap} returns the same
+     * {@link CurrencyProviderSpi} services and no new currencies are published. Only results of cacheable
+     * provider chains are cached, a rarely used entry is evicted when the cache is full.
+     */
+    private static final class QueryCache {
+        private final Collection<CurrencyProviderSpi> services;
+        private final long generation;
+        private final BoundedCache<CurrencyQuery, Set<CurrencyUnit>> results =
+                new BoundedCache<>(MAX_CACHED_QUERIES);
+
+        QueryCache(Collection<CurrencyProviderSpi> services, long generation) {
+            this.services = services;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * The indexes of explicitly requested provider chains, valid as long as {@link javax.money.spi.Bootstrap}
+     * returns the same {@link CurrencyProviderSpi} services and no new currencies are published. Only chains of
+     * registered providers are indexed, a rarely used index is evicted when the cache is full.
+     */
+    private static final class ChainIndexes {
+        private final Collection<CurrencyProviderSpi> services;
+        private final long generation;
+        /**
+         * The index shared by all chains not containing any registered provider.
+         */
+        private final CurrencyIndex unknownChainIndex;
+        private final BoundedCache<List<String>, CurrencyIndex> indexes = new BoundedCache<>(MAX_CHAIN_INDEXES);
+
+        ChainIndexes(Collection<CurrencyProviderSpi> services, long generation) {
+            this.services = services;
+            this.generation = generation;
+            this.unknownChainIndex = new CurrencyIndex(services, generation, true);
+        }
+
+        CurrencyIndex get(List<String> chain) {
+            return indexes.get(chain);
+        }
+
+        CurrencyIndex put(List<String> chain, CurrencyIndex index) {
+            return indexes.put(chain, index);
+        }
+
+        int size() {
+            return indexes.size();
+        }
+    }
+
+    /**
+     * The {@link CurrencyProviderSpi} services by name, valid as long as {@link javax.money.spi.Bootstrap}
+     * returns the same services.
+     */
+    private static final class ProviderIndex {
+        private final Collection<CurrencyProviderSpi> services;
+        /**
+         * The providers by name, the first provider in order of precedence wins.
+         */
+        private final Map<String, CurrencyProviderSpi> providers;
+        private final List<String> defaultChain;
+        /**
+         * The providers, whose currencies may change without notice and therefore are not cached. These are
+         * the providers annotated with {@link MutableCurrencies} or listed by {@link #MUTABLE_PROVIDERS_PROPERTY},
+         * except of {@link ReloadableCurrencyProviderSpi} instances.
+         */
+        private final Set<CurrencyProviderSpi> mutableProviders;
+
+        ProviderIndex(Collection<CurrencyProviderSpi> services) {
+            this.services = services;
+            Map<String, CurrencyProviderSpi> providersByName = new LinkedHashMap<>();
+            List<String> chain = new ArrayList<>(services.size());
+            Set<String> mutableNames = getMutableProviderNames();
+            Set<CurrencyProviderSpi> mutable =
+                    Collections.newSetFromMap(new IdentityHashMap<CurrencyProviderSpi, Boolean>());
+            for (CurrencyProviderSpi spi : services) {
+                try {
+                    String providerName = spi.getProviderName();
+                    if (!(spi instanceof ReloadableCurrencyProviderSpi) && (mutableNames.contains(providerName)
+                            || spi.getClass().isAnnotationPresent(MutableCurrencies.class))) {
+                        mutable.add(spi);
+                    }
+                    chain.add(providerName);
+                    if (!providersByName.containsKey(providerName)) {
+                        providersByName.put(providerName, spi);
+                    }
+                } catch (Exception e) {
+                    Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
+                            .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
+                                    e);
+                }
+            }
+            this.providers = Collections.unmodifiableMap(providersByName);
+            this.defaultChain = Collections.unmodifiableList(Arrays.asList(chain.toArray(new String[chain.size()])));
+            this.mutableProviders = Collections.unmodifiableSet(mutable);
+        }
+
+        /**
+         * Reads the names of the providers listed by {@link #MUTABLE_PROVIDERS_PROPERTY}.
+         *
+         * @return the provider names, never null.
+         */
+        private static Set<String> getMutableProviderNames() {
+            String names;
+            try {
+                names = System.getProperty(MUTABLE_PROVIDERS_PROPERTY);
+            } catch (SecurityException e) {
+                return Collections.emptySet();
+            }
+            if (names == null) {
+                return Collections.emptySet();
+            }
+            Set<String> result = new HashSet<>();
+            for (String name : names.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    result.add(name.trim());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A canonical currency instance with its ordinal.
+     */
+    private static final class Canonical {
+        private final CurrencyUnit currency;
+        private final int ordinal;
+
+        Canonical(CurrencyUnit currency, int ordinal) {
+            this.currency = currency;
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * Currencies resolved for a provider chain, valid as long as {@link javax.money.spi.Bootstrap} returns the
+     * same {@link CurrencyProviderSpi} services and no new currencies are published. Nothing is remembered, if
+     * the chain is not {@link #isCacheable(Collection) cacheable}.
+     */
+    private static final class CurrencyIndex {
+        private final Collection<CurrencyProviderSpi> services;
+        private final long generation;
+        private final boolean cacheable;
+        private final ConcurrentHashMap<String, CurrencyUnit> currencies = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Locale, Set<CurrencyUnit>> countryCurrencies = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Boolean> unknownCodes = new ConcurrentHashMap<>();
+        private volatile AtomicReferenceArray<CurrencyUnit> numericCurrencies;
+        private volatile AtomicReferenceArray<CurrencyUnit> packedCurrencies;
+
+        CurrencyIndex(Collection<CurrencyProviderSpi> services, long generation, boolean cacheable) {
+            this.services = services;
+            this.generation = generation;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * Remembers the currency found for a code, if the chain is cacheable.
+         *
+         * @param currencyCode the currency code, not null.
+         * @param currency     the currency, not null.
+         */
+        void putCurrency(String currencyCode, CurrencyUnit currency) {
+            if (cacheable) {
+                currencies.putIfAbsent(currencyCode, currency);
+            }
+        }
+
+        /**
+         * Remembers a code no currency was found for, if the chain is cacheable. If the maximal number of
+         * unknown codes is reached, the codes remembered so far are discarded.
+         *
+         * @param currencyCode the currency code, not null.
+         */
+        void addUnknownCode(String currencyCode) {
+            if (!cacheable) {
+                return;
+            }
+            if (unknownCodes.size() >= MAX_UNKNOWN_CODES) {
+                unknownCodes.clear();
+            }
+            unknownCodes.put(currencyCode, Boolean.TRUE);
+        }
+
+        /**
+         * Remembers the currencies found for a locale, if the chain is cacheable. If the maximal number of
+         * locales is reached, the currencies remembered so far are discarded.
+         *
+         * @param locale     the locale, not null.
+         * @param currencies the currencies found, not null.
+         * @return the currencies remembered for the locale, never null.
+         */
+        Set<CurrencyUnit> addCountryCurrencies(Locale locale, Set<CurrencyUnit> currencies) {
+            if (!cacheable) {
+                return currencies;
+            }
+            if (countryCurrencies.size() >= MAX_CACHED_LOCALES) {
+                countryCurrencies.clear();
+            }
+            Set<CurrencyUnit> prevCurrencies = countryCurrencies.putIfAbsent(locale, currencies);
+            return prevCurrencies == null ? currencies : prevCurrencies;
+        }
+
+        /**
+         * Access the currencies by packed currency code, creating the table on first access.
+         *
+         * @return the currencies resolved so far, indexed by packed code, never null.
+         */
+        AtomicReferenceArray<CurrencyUnit> getPackedCurrencies() {
+            AtomicReferenceArray<CurrencyUnit> table = packedCurrencies;
+            if (table == null) {
+                table = new AtomicReferenceArray<>(PackedCurrencyCode.SIZE);
+                packedCurrencies = table;
+            }
+            return table;
+        }
+
+        /**
+         * Access the currencies by numeric code, reading all currencies of the provider chain on first access.
+         * Slots of numeric codes shared by several currencies are left empty.
+         *
+         * @param spi       the currencies singleton, not null.
+         * @param providers the provider chain, empty for the default chain.
+         * @return the currencies, indexed by numeric code, never null.
+         */
+        AtomicReferenceArray<CurrencyUnit> getNumericCurrencies(DefaultMonetaryCurrenciesSingletonSpi spi,
+                                                                String... providers) {
+            AtomicReferenceArray<CurrencyUnit> table = numericCurrencies;
+            if (table == null) {
+                table = new AtomicReferenceArray<>(NUMERIC_CODES);
+                boolean[] ambiguous = new boolean[NUMERIC_CODES];
+                for (CurrencyUnit currency : spi.getCurrencies(providers)) {
+                    int code = currency.getNumericCode();
+                    if (code >= 0 && code < NUMERIC_CODES && !ambiguous[code]) {
+                        CurrencyUnit prev = table.get(code);
+                        if (prev == null) {
+                            table.set(code, currency);
+                        } else if (!prev.equals(currency)) {
+                            table.set(code, null);
+                            ambiguous[code] = true;
+                        }
+                    }
+                }
+                numericCurrencies = table;
+            }
+            return table;
+        }
+    }
 }
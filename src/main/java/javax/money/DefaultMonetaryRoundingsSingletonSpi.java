@@ -19,13 +19,22 @@ package javax.money;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryRoundingsSingletonSpi;
 import javax.money.spi.RoundingProviderSpi;
+import javax.money.spi.ServicePriority;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +42,14 @@ import java.util.logging.Logger;
  * This class models the accessor for rounding instances, modeled as
  * {@link MonetaryOperator}.
  * <p>
+ * The {@link #getDefaultRounding() default rounding} remembers the rounding resolved for each currency, so
+ * rounding an amount does not query the {@link RoundingProviderSpi} instances again, until they change.
+ * Likewise the roundings returned by {@link #getRounding(RoundingQuery)} are kept in a bounded concurrent cache,
+ * keyed by the query. Queries carrying a timestamp (attribute
+ * {@link AbstractQuery#KEY_QUERY_TIMESTAMP}) are time dependent and bypass the cache. The rounding names of each
+ * provider are read once and the provider name patterns passed to {@link #getRoundingNames(String...)} are
+ * compiled once.
+ * <p>
  * This class is thread-safe.
  *
  * @author Anatole Tresch
@@ -40,11 +57,32 @@ import java.util.logging.Logger;
  */
 final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSingletonSpi {
 
+    /**
+     * The maximal number of rounding queries cached.
+     */
+    private static final int MAX_CACHED_QUERIES = 256;
+    /**
+     * The maximal number of provider name patterns cached.
+     */
+    private static final int MAX_PROVIDER_NAME_PATTERNS = 64;
+    /**
+     * The compiled provider name patterns passed to {@link #getRoundingNames(String...)}.
+     */
+    private static final ConcurrentHashMap<String, Pattern> PROVIDER_NAME_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * The providers by name, rebuilt when the {@link RoundingProviderSpi} services change.
+     */
+    private volatile ProviderIndex providerIndex;
+    /**
+     * The roundings of recent queries, rebuilt when the {@link RoundingProviderSpi} services change.
+     */
+    private volatile QueryCache queryCache;
     /**
      * An adaptive rounding instance that transparently looks up the correct
-     * rounding.
+     * rounding. Kept per instance, since its memo is only valid for the services of one scope.
      */
-    private static final MonetaryRounding DEFAULT_ROUNDING = new DefaultCurrencyRounding();
+    private final MonetaryRounding defaultRounding = new DefaultCurrencyRounding();
 
         /**
          * Creates an rounding instance using {@link java.math.RoundingMode#UP} rounding.
@@ -63,7 +101,7 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
          * @return the default rounding, never null.
          */
         public MonetaryRounding getDefaultRounding() {
-            return DEFAULT_ROUNDING;
+            return defaultRounding;
         }
 
 
@@ -76,27 +114,55 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
         @Override
         public Collection<MonetaryRounding> getRoundings(RoundingQuery query) {
             List<MonetaryRounding> result = new ArrayList<>();
+            loadRoundings(query, result);
+            return result;
+        }
+
+        /**
+         * Queries the providers selected by the query.
+         *
+         * @param query  the rounding query, not null.
+         * @param result the list the roundings found are added to, not null.
+         * @return {@code true}, if all providers answered, {@code false}, if a provider failed.
+         */
+        private boolean loadRoundings(RoundingQuery query, List<MonetaryRounding> result) {
+            boolean complete = true;
             Collection<String> providerNames = query.getProviderNames();
+            ProviderIndex index = getProviderIndex();
             if (providerNames == null || providerNames.isEmpty()) {
-                providerNames = getDefaultProviderChain();
+                for (RoundingProviderSpi curProv : index.chainServices) {
+                    try {
+                        MonetaryRounding r = curProv.getRounding(query);
+                        if (r != null) {
+                            result.add(r);
+                        }
+                    } catch (Exception e) {
+                        complete = false;
+                        Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                                .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + curProv, e);
+                    }
+                }
+                return complete;
             }
-            Collection<RoundingProviderSpi> allProviders = Bootstrap.getServices(RoundingProviderSpi.class);
             for (String providerName : providerNames) {
-                for(RoundingProviderSpi curProv: allProviders) {
-                    if (providerName.equals(curProv.getProviderName())) {
-                        try {
-                            MonetaryRounding r = curProv.getRounding(query);
-                            if (r != null) {
-                                result.add(r);
-                            }
-                        } catch (Exception e) {
-                            Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
-                                    .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + curProv, e);
+                List<RoundingProviderSpi> namedProviders = index.providers.get(providerName);
+                if (namedProviders == null) {
+                    continue;
+                }
+                for (RoundingProviderSpi curProv : namedProviders) {
+                    try {
+                        MonetaryRounding r = curProv.getRounding(query);
+                        if (r != null) {
+                            result.add(r);
                         }
+                    } catch (Exception e) {
+                        complete = false;
+                        Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                                .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + curProv, e);
                     }
                 }
             }
-            return result;
+            return complete;
         }
 
 
@@ -107,29 +173,18 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
          */
         @Override
         public Set<String> getProviderNames() {
-            Set<String> result = new HashSet<>();
-            for (RoundingProviderSpi prov : Bootstrap.getServices(RoundingProviderSpi.class)) {
-                try {
-                    result.add(prov.getProviderName());
-                } catch (Exception e) {
-                    Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
-                            .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
-                }
-            }
-            return result;
+            return getProviderIndex().providers.keySet();
         }
 
         /**
-         * Get the default providers list to be used.
+         * Get the default providers list to be used, ordered by their {@link ServicePriority}, providers with
+         * the same priority are ordered by their provider name.
          *
          * @return the default provider list and ordering, not null.
          */
         @Override
         public List<String> getDefaultProviderChain() {
-            List<String> result = new ArrayList<>();
-            result.addAll(getProviderNames());
-            Collections.sort(result);
-            return result;
+            return getProviderIndex().defaultChain;
         }
 
         /**
@@ -141,25 +196,51 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
          */
         public Set<String> getRoundingNames(String... providers) {
             Set<String> result = new HashSet<>();
-            String[] providerNames = providers;
-            if (providerNames.length == 0) {
-                providerNames = getDefaultProviderChain().toArray(new String[getDefaultProviderChain().size()]);
+            ProviderIndex index = getProviderIndex();
+            if (providers.length == 0) {
+                for (RoundingProviderSpi prov : index.services) {
+                    result.addAll(index.getRoundingNames(prov));
+                }
+                return result;
             }
-            for (String providerName : providerNames) {
-                for (RoundingProviderSpi prov : Bootstrap.getServices(RoundingProviderSpi.class)) {
-                    try {
-                        if (prov.getProviderName().equals(providerName) || prov.getProviderName().matches(providerName)) {
-                            result.addAll(prov.getRoundingNames());
+            for (String providerName : providers) {
+                Pattern pattern = getProviderNamePattern(providerName);
+                for (Map.Entry<String, List<RoundingProviderSpi>> entry : index.providers.entrySet()) {
+                    if (entry.getKey().equals(providerName) || pattern.matcher(entry.getKey()).matches()) {
+                        for (RoundingProviderSpi prov : entry.getValue()) {
+                            result.addAll(index.getRoundingNames(prov));
                         }
-                    } catch (Exception e) {
-                        Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
-                                .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
                     }
                 }
             }
             return result;
         }
 
+        /**
+         * Access the compiled pattern for a provider name passed to {@link #getRoundingNames(String...)}. Names,
+         * which are not valid regular expressions, only match themselves.
+         *
+         * @param providerName the provider name or pattern, not null.
+         * @return the pattern, never null.
+         */
+        private static Pattern getProviderNamePattern(String providerName) {
+            Pattern pattern = PROVIDER_NAME_PATTERNS.get(providerName);
+            if (pattern == null) {
+                try {
+                    pattern = Pattern.compile(providerName);
+                } catch (PatternSyntaxException e) {
+                    Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                            .log(Level.FINE, "Invalid provider name pattern, matching literally: " + providerName, e);
+                    pattern = Pattern.compile(providerName, Pattern.LITERAL);
+                }
+                if (PROVIDER_NAME_PATTERNS.size() >= MAX_PROVIDER_NAME_PATTERNS) {
+                    PROVIDER_NAME_PATTERNS.clear();
+                }
+                PROVIDER_NAME_PATTERNS.put(providerName, pattern);
+            }
+            return pattern;
+        }
+
         /**
          * Access a {@link MonetaryRounding} for rounding {@link MonetaryAmount}
          * instances given a currency.
@@ -212,11 +293,35 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
          * @return the rounding found, or null, if no rounding matches the query.
          */
         public MonetaryRounding getRounding(RoundingQuery query) {
-            Collection<MonetaryRounding> roundings = getRoundings(query);
+            if (query.getType(AbstractQuery.KEY_QUERY_TIMESTAMP) != null) {
+                Collection<MonetaryRounding> roundings = getRoundings(query);
+                return roundings.isEmpty() ? null : roundings.iterator().next();
+            }
+            QueryCache cache = getQueryCache();
+            MonetaryRounding rounding = cache.roundings.get(query);
+            if (rounding != null) {
+                return rounding;
+            }
+            List<MonetaryRounding> roundings = new ArrayList<>();
+            boolean complete = loadRoundings(query, roundings);
             if (roundings.isEmpty()) {
                 return null;
             }
-            return roundings.iterator().next();
+            rounding = roundings.get(0);
+            if (complete) {
+                return cache.roundings.put(query, rounding);
+            }
+            return rounding;
+        }
+
+        /**
+         * Access the number of rounding queries currently cached.
+         *
+         * @return the number of cached queries.
+         */
+        int getCachedQueryCount() {
+            QueryCache cache = queryCache;
+            return cache == null ? 0 : cache.roundings.size();
         }
 
         /**
@@ -259,6 +364,155 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
             return isRoundingAvailable(RoundingQueryBuilder.of().setProviderNames(providers).setCurrency(currencyUnit).build());
         }
 
+    /**
+     * Access the providers by name, rebuilding them, if the providers available changed.
+     *
+     * @return the provider index, never null.
+     */
+    private ProviderIndex getProviderIndex() {
+        Collection<RoundingProviderSpi> services = Bootstrap.getServices(RoundingProviderSpi.class);
+        ProviderIndex index = providerIndex;
+        if (index == null || index.services != services) {
+            index = new ProviderIndex(services);
+            providerIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Access the query cache, creating a new one, if the providers available changed.
+     *
+     * @return the query cache, never null.
+     */
+    private QueryCache getQueryCache() {
+        Collection<RoundingProviderSpi> services = Bootstrap.getServices(RoundingProviderSpi.class);
+        QueryCache cache = queryCache;
+        if (cache == null || cache.services != services) {
+            cache = new QueryCache(services);
+            queryCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * The roundings of recent queries, valid as long as {@link javax.money.spi.Bootstrap} returns the same
+     * {@link RoundingProviderSpi} services. A rarely used entry is evicted when the cache is full.
+     */
+    private static final class QueryCache {
+        private final Collection<RoundingProviderSpi> services;
+        private final BoundedCache<RoundingQuery, MonetaryRounding> roundings =
+                new BoundedCache<>(MAX_CACHED_QUERIES);
+
+        QueryCache(Collection<RoundingProviderSpi> services) {
+            this.services = services;
+        }
+    }
+
+    /**
+     * Evaluates the default provider chain: providers with a higher {@link ServicePriority} come first,
+     * providers with the same priority are ordered by their name. Without any priorities declared, the chain
+     * is ordered by provider name only.
+     *
+     * @param providersByName the providers, by provider name, not null.
+     * @return the provider names, in order of the chain, never null.
+     */
+    static List<String> sortProviderChain(Map<String, ? extends Collection<? extends RoundingProviderSpi>> providersByName) {
+        final Map<String, Integer> priorities = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<? extends RoundingProviderSpi>> en : providersByName.entrySet()) {
+            int priority = Integer.MIN_VALUE;
+            for (RoundingProviderSpi prov : en.getValue()) {
+                ServicePriority annotation = prov.getClass().getAnnotation(ServicePriority.class);
+                priority = Math.max(priority, annotation == null ? 0 : annotation.value());
+            }
+            priorities.put(en.getKey(), priority);
+        }
+        List<String> chain = new ArrayList<>(providersByName.keySet());
+        Collections.sort(chain, new Comparator<String>() {
+            @Override
+            public int compare(String name1, String name2) {
+                int prio1 = priorities.get(name1);
+                int prio2 = priorities.get(name2);
+                if (prio1 != prio2) {
+                    return prio1 > prio2 ? -1 : 1;
+                }
+                return name1.compareTo(name2);
+            }
+        });
+        return chain;
+    }
+
+    /**
+     * The {@link RoundingProviderSpi} services by name, valid as long as {@link javax.money.spi.Bootstrap}
+     * returns the same services.
+     */
+    private static final class ProviderIndex {
+        private final Collection<RoundingProviderSpi> services;
+        /**
+         * The providers by name, in the order of the default chain.
+         */
+        private final Map<String, List<RoundingProviderSpi>> providers;
+        private final List<String> defaultChain;
+        /**
+         * The providers, in the order of the default chain.
+         */
+        private final List<RoundingProviderSpi> chainServices;
+        /**
+         * The rounding names per provider, evaluated on first access.
+         */
+        private final ConcurrentHashMap<RoundingProviderSpi, Set<String>> roundingNames = new ConcurrentHashMap<>();
+
+        ProviderIndex(Collection<RoundingProviderSpi> services) {
+            this.services = services;
+            Map<String, List<RoundingProviderSpi>> providersByName = new LinkedHashMap<>();
+            for (RoundingProviderSpi prov : services) {
+                try {
+                    String providerName = prov.getProviderName();
+                    List<RoundingProviderSpi> namedProviders = providersByName.get(providerName);
+                    if (namedProviders == null) {
+                        namedProviders = new ArrayList<>(1);
+                        providersByName.put(providerName, namedProviders);
+                    }
+                    namedProviders.add(prov);
+                } catch (Exception e) {
+                    Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                            .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
+                }
+            }
+            List<String> chain = sortProviderChain(providersByName);
+            Map<String, List<RoundingProviderSpi>> providersByChain = new LinkedHashMap<>();
+            List<RoundingProviderSpi> chainProviders = new ArrayList<>();
+            for (String providerName : chain) {
+                List<RoundingProviderSpi> namedProviders = providersByName.get(providerName);
+                providersByChain.put(providerName, namedProviders);
+                chainProviders.addAll(namedProviders);
+            }
+            this.providers = Collections.unmodifiableMap(providersByChain);
+            this.chainServices = Collections.unmodifiableList(chainProviders);
+            this.defaultChain = Collections.unmodifiableList(Arrays.asList(chain.toArray(new String[chain.size()])));
+        }
+
+        /**
+         * Access the rounding names of a provider.
+         *
+         * @param prov the provider, not null.
+         * @return the immutable rounding names, empty, if the provider failed.
+         */
+        Set<String> getRoundingNames(RoundingProviderSpi prov) {
+            Set<String> names = roundingNames.get(prov);
+            if (names == null) {
+                try {
+                    names = Collections.unmodifiableSet(new HashSet<>(prov.getRoundingNames()));
+                    roundingNames.put(prov, names);
+                } catch (Exception e) {
+                    Logger.getLogger(DefaultMonetaryRoundingsSingletonSpi.class.getName())
+                            .log(Level.SEVERE, "Error loading RoundingProviderSpi from provider: " + prov, e);
+                    return Collections.emptySet();
+                }
+            }
+            return names;
+        }
+    }
+
     /**
      * Default Rounding that rounds a {@link MonetaryAmount} based on the
      * amount's {@link CurrencyUnit}.
@@ -269,17 +523,92 @@ final class DefaultMonetaryRoundingsSingletonSpi implements MonetaryRoundingsSin
 
         private static final RoundingContext ROUNDING_CONTEXT = RoundingContextBuilder.of("default", "default").build();
 
+        /**
+         * The roundings resolved so far, replaced when the {@link RoundingProviderSpi} services change.
+         */
+        private transient volatile RoundingMemo memo;
+
         @Override
         public MonetaryAmount apply(MonetaryAmount amount) {
-            MonetaryRounding r = Monetary.getRounding(amount.getCurrency());
+            CurrencyUnit currency = amount.getCurrency();
+            RoundingMemo currentMemo = getMemo();
+            MonetaryRounding r = currentMemo.get(currency);
+            if (r == null) {
+                r = Monetary.getRounding(currency);
+                currentMemo.put(currency, r);
+            }
             return r.apply(amount);
         }
 
+        /**
+         * Access the roundings resolved, discarding them, if the rounding providers available changed.
+         *
+         * @return the memo, never null.
+         */
+        private RoundingMemo getMemo() {
+            Collection<RoundingProviderSpi> services = Bootstrap.getServices(RoundingProviderSpi.class);
+            RoundingMemo currentMemo = memo;
+            if (currentMemo == null || currentMemo.services != services) {
+                currentMemo = new RoundingMemo(services);
+                memo = currentMemo;
+            }
+            return currentMemo;
+        }
+
         @Override
         public RoundingContext getRoundingContext() {
             return ROUNDING_CONTEXT;
         }
     }
 
+    /**
+     * The roundings resolved per currency, valid as long as {@link javax.money.spi.Bootstrap} returns the same
+     * {@link RoundingProviderSpi} services. The rounding of a currency code is only reused for the same currency
+     * instance, or an equal one with the same default fraction digits. Lookups do not lock. When the memo is full,
+     * roundings of further currency codes are not remembered, but resolved on each use.
+     */
+    static final class RoundingMemo {
+        /**
+         * The maximal number of currencies, whose rounding is remembered.
+         */
+        static final int MAX_CURRENCIES = 1024;
+
+        private final Collection<RoundingProviderSpi> services;
+        private final ConcurrentHashMap<String, CurrencyRounding> roundings = new ConcurrentHashMap<>();
+
+        RoundingMemo(Collection<RoundingProviderSpi> services) {
+            this.services = services;
+        }
+
+        MonetaryRounding get(CurrencyUnit currency) {
+            CurrencyRounding entry = roundings.get(currency.getCurrencyCode());
+            if (entry != null && (entry.currency == currency
+                    || (entry.currency.getDefaultFractionDigits() == currency.getDefaultFractionDigits()
+                    && entry.currency.equals(currency)))) {
+                return entry.rounding;
+            }
+            return null;
+        }
+
+        void put(CurrencyUnit currency, MonetaryRounding rounding) {
+            String code = currency.getCurrencyCode();
+            if (roundings.size() < MAX_CURRENCIES || roundings.containsKey(code)) {
+                roundings.put(code, new CurrencyRounding(currency, rounding));
+            }
+        }
+    }
+
+    /**
+     * A rounding resolved for a currency.
+     */
+    private static final class CurrencyRounding {
+        private final CurrencyUnit currency;
+        private final MonetaryRounding rounding;
+
+        CurrencyRounding(CurrencyUnit currency, MonetaryRounding rounding) {
+            this.currency = currency;
+            this.rounding = rounding;
+        }
+    }
 
 }
\ No newline at end of file
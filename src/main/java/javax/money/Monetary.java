@@ -16,15 +16,15 @@
  */
 package javax.money;
 
-import javax.money.spi.Bootstrap;
+import javax.money.spi.BaseMonetaryCurrenciesSingletonSpi;
 import javax.money.spi.CurrencyProviderSpi;
 import javax.money.spi.MonetaryAmountsSingletonQuerySpi;
 import javax.money.spi.MonetaryAmountsSingletonSpi;
 import javax.money.spi.MonetaryCurrenciesSingletonSpi;
 import javax.money.spi.MonetaryRoundingsSingletonSpi;
+import javax.money.spi.ServiceCache;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Factory singleton for {@link CurrencyUnit} instances as provided by the
@@ -37,34 +37,69 @@ import java.util.logging.Logger;
  */
 public final class Monetary {
     /**
-     * The used {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance.
+     * The cached {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance.
+     */
+    private static final ServiceCache<MonetaryCurrenciesSingletonSpi> CURRENCIES_SPI =
+            new ServiceCache<MonetaryCurrenciesSingletonSpi>(MonetaryCurrenciesSingletonSpi.class) {
+                @Override
+                protected MonetaryCurrenciesSingletonSpi createDefault() {
+                    return new DefaultMonetaryCurrenciesSingletonSpi();
+                }
+            };
+    /**
+     * The cached {@link javax.money.spi.MonetaryAmountsSingletonSpi} instance.
+     */
+    private static final ServiceCache<MonetaryAmountsSingletonSpi> AMOUNTS_SINGLETON_SPI =
+            new ServiceCache<MonetaryAmountsSingletonSpi>(MonetaryAmountsSingletonSpi.class) {
+            };
+    /**
+     * The cached {@link javax.money.spi.MonetaryAmountsSingletonQuerySpi} instance.
+     */
+    private static final ServiceCache<MonetaryAmountsSingletonQuerySpi> AMOUNTS_SINGLETON_QUERY_SPI =
+            new ServiceCache<MonetaryAmountsSingletonQuerySpi>(MonetaryAmountsSingletonQuerySpi.class) {
+            };
+    /**
+     * The cached {@link javax.money.spi.MonetaryRoundingsSingletonSpi} instance.
+     */
+    private static final ServiceCache<MonetaryRoundingsSingletonSpi> ROUNDINGS_SPI =
+            new ServiceCache<MonetaryRoundingsSingletonSpi>(MonetaryRoundingsSingletonSpi.class) {
+                @Override
+                protected MonetaryRoundingsSingletonSpi createDefault() {
+                    return new DefaultMonetaryRoundingsSingletonSpi();
+                }
+            };
+
+    /**
+     * The adapter of the {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance last used, if it does not
+     * extend {@link BaseMonetaryCurrenciesSingletonSpi}.
      */
-    private static MonetaryCurrenciesSingletonSpi monetaryCurrenciesSpi() {
-        try {
-            MonetaryCurrenciesSingletonSpi spi = Bootstrap
-                    .getService(MonetaryCurrenciesSingletonSpi.class);
-            if(spi==null) {
-                spi = new DefaultMonetaryCurrenciesSingletonSpi();
-            }
-            return spi;
-        } catch (Exception e) {
-            Logger.getLogger(Monetary.class.getName())
-                    .log(Level.INFO, "Failed to load MonetaryCurrenciesSingletonSpi, using default.", e);
-            return new DefaultMonetaryCurrenciesSingletonSpi();
+    private static volatile CurrenciesSingletonSpiAdapter currenciesSpiAdapter;
+
+    /**
+     * The used {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance. Instances not extending
+     * {@link BaseMonetaryCurrenciesSingletonSpi} are adapted, so they get its default behaviour.
+     */
+    private static BaseMonetaryCurrenciesSingletonSpi monetaryCurrenciesSpi() {
+        MonetaryCurrenciesSingletonSpi spi = CURRENCIES_SPI.get();
+        if (spi instanceof BaseMonetaryCurrenciesSingletonSpi) {
+            return (BaseMonetaryCurrenciesSingletonSpi) spi;
+        }
+        if (spi == null) {
+            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
         }
+        CurrenciesSingletonSpiAdapter adapter = currenciesSpiAdapter;
+        if (adapter == null || adapter.spi != spi) {
+            adapter = new CurrenciesSingletonSpiAdapter(spi);
+            currenciesSpiAdapter = adapter;
+        }
+        return adapter;
     }
 
     /**
      * The used {@link javax.money.spi.MonetaryAmountsSingletonSpi} instance.
      */
     private static MonetaryAmountsSingletonSpi monetaryAmountsSingletonSpi() {
-        MonetaryAmountsSingletonSpi spi = null;
-        try {
-            spi = Bootstrap.getService(MonetaryAmountsSingletonSpi.class);
-        } catch (Exception e) {
-            Logger.getLogger(Monetary.class.getName())
-                    .log(Level.SEVERE, "Failed to load MonetaryAmountsSingletonSpi.", e);
-        }
+        MonetaryAmountsSingletonSpi spi = AMOUNTS_SINGLETON_SPI.get();
         if(spi ==null){
             throw new MonetaryException(
                     "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
@@ -76,13 +111,7 @@ public final class Monetary {
      * The used {@link javax.money.spi.MonetaryAmountsSingletonSpi} instance.
      */
     private static MonetaryAmountsSingletonQuerySpi monetaryAmountsSingletonQuerySpi() {
-        MonetaryAmountsSingletonQuerySpi spi = null;
-        try {
-            spi = Bootstrap.getService(MonetaryAmountsSingletonQuerySpi.class);
-        } catch (Exception e) {
-            Logger.getLogger(Monetary.class.getName())
-                    .log(Level.SEVERE, "Failed to load MonetaryAmountsSingletonQuerySpi.", e);
-        }
+        MonetaryAmountsSingletonQuerySpi spi = AMOUNTS_SINGLETON_QUERY_SPI.get();
         if(spi ==null){
             throw new MonetaryException(
                     "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available.");
@@ -94,18 +123,7 @@ public final class Monetary {
      * The used {@link javax.money.spi.MonetaryCurrenciesSingletonSpi} instance.
      */
     private static MonetaryRoundingsSingletonSpi monetaryRoundingsSpi() {
-        try {
-            MonetaryRoundingsSingletonSpi spi = Bootstrap
-                    .getService(MonetaryRoundingsSingletonSpi.class);
-            if(spi==null) {
-                spi = new DefaultMonetaryRoundingsSingletonSpi();
-            }
-            return spi;
-        } catch (Exception e) {
-            Logger.getLogger(Monetary.class.getName())
-                    .log(Level.SEVERE, "Failed to load MonetaryCurrenciesSingletonSpi, using default.", e);
-            return new DefaultMonetaryRoundingsSingletonSpi();
-        }
+        return ROUNDINGS_SPI.get();
     }
 
 
@@ -126,10 +144,136 @@ public final class Monetary {
      * @throws UnknownCurrencyException if no such currency exists.
      */
     public static CurrencyUnit getCurrency(String currencyCode, String... providers) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrency(currencyCode, providers);
+    }
+
+    /**
+     * Access a currency based on the currency code contained in the given range of a character sequence. Codes made
+     * of three uppercase ASCII letters are resolved without creating a {@link String}, so parsers can resolve
+     * currencies directly from their input buffers.
+     *
+     * @param code      the characters containing the ISO currency code, not {@code null}.
+     * @param start     the index of the first character of the code, inclusive.
+     * @param end       the index of the last character of the code, exclusive.
+     * @param providers the (optional) specification of providers to consider.
+     * @return the corresponding {@link CurrencyUnit} instance.
+     * @throws UnknownCurrencyException if no such currency exists.
+     * @see PackedCurrencyCode#pack(CharSequence, int, int)
+     */
+    public static CurrencyUnit getCurrency(CharSequence code, int start, int end, String... providers) {
+        int packedCode = PackedCurrencyCode.pack(code, start, end);
+        if (packedCode == PackedCurrencyCode.INVALID) {
+            return getCurrency(code.subSequence(start, end).toString(), providers);
+        }
+        return getPackedCurrency(packedCode, providers);
+    }
+
+    /**
+     * Access a currency based on the currency code contained in the given range of a character array.
+     *
+     * @param code      the characters containing the ISO currency code, not {@code null}.
+     * @param start     the index of the first character of the code, inclusive.
+     * @param end       the index of the last character of the code, exclusive.
+     * @param providers the (optional) specification of providers to consider.
+     * @return the corresponding {@link CurrencyUnit} instance.
+     * @throws UnknownCurrencyException if no such currency exists.
+     * @see #getCurrency(CharSequence, int, int, String...)
+     */
+    public static CurrencyUnit getCurrency(char[] code, int start, int end, String... providers) {
+        int packedCode = PackedCurrencyCode.pack(code, start, end);
+        if (packedCode == PackedCurrencyCode.INVALID) {
+            return getCurrency(new String(code, start, end - start), providers);
         }
-        return monetaryCurrenciesSpi().getCurrency(currencyCode, providers);
+        return getPackedCurrency(packedCode, providers);
+    }
+
+    /**
+     * Access a currency based on the currency code contained in the given range of an ASCII encoded byte array.
+     *
+     * @param code      the bytes containing the ISO currency code, not {@code null}.
+     * @param start     the index of the first byte of the code, inclusive.
+     * @param end       the index of the last byte of the code, exclusive.
+     * @param providers the (optional) specification of providers to consider.
+     * @return the corresponding {@link CurrencyUnit} instance.
+     * @throws UnknownCurrencyException if no such currency exists.
+     * @see #getCurrency(CharSequence, int, int, String...)
+     */
+    public static CurrencyUnit getCurrency(byte[] code, int start, int end, String... providers) {
+        int packedCode = PackedCurrencyCode.pack(code, start, end);
+        if (packedCode == PackedCurrencyCode.INVALID) {
+            return getCurrency(new String(code, start, end - start, StandardCharsets.ISO_8859_1), providers);
+        }
+        return getPackedCurrency(packedCode, providers);
+    }
+
+    private static CurrencyUnit getPackedCurrency(int packedCode, String... providers) {
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        CurrencyUnit currency = spi.findCurrencyByPackedCode(packedCode, providers);
+        if (currency != null) {
+            return currency;
+        }
+        return spi.getCurrency(PackedCurrencyCode.unpack(packedCode), providers);
+    }
+
+    /**
+     * Access a currency based on the currency code, returning {@code null} instead of throwing an exception
+     * for unknown codes. This is the preferred method for validating untrusted input.
+     *
+     * @param currencyCode the ISO currency code, not {@code null}.
+     * @param providers    the (optional) specification of providers to consider.
+     * @return the corresponding {@link CurrencyUnit} instance, or {@code null}.
+     * @throws MonetaryException if multiple currencies match the code.
+     */
+    public static CurrencyUnit findCurrency(String currencyCode, String... providers) {
+        Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.findCurrency(currencyCode, providers);
+    }
+
+    /**
+     * Access the currencies for a batch of currency codes. Each distinct code is resolved only once, so batch
+     * loaders pay for querying the providers once per distinct code, instead of once per row.
+     *
+     * @param currencyCodes the ISO currency codes, not {@code null}, may contain duplicates.
+     * @param providers     the (optional) specification of providers to consider.
+     * @return the currencies, in the order of the codes passed, containing {@code null} for unknown codes.
+     * @throws MonetaryException if multiple currencies match a code.
+     */
+    public static List<CurrencyUnit> findCurrencies(List<String> currencyCodes, String... providers) {
+        Objects.requireNonNull(currencyCodes, "Currency Codes may not be null");
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.findCurrencies(currencyCodes, providers);
+    }
+
+    /**
+     * Access a new instance based on its ISO 4217 numeric code. Currencies are
+     * available as provided by {@link CurrencyProviderSpi} instances registered
+     * with the {@link javax.money.spi.Bootstrap}.
+     *
+     * @param numericCode the ISO numeric currency code.
+     * @param providers   the (optional) specification of providers to consider.
+     * @return the corresponding {@link CurrencyUnit} instance.
+     * @throws UnknownCurrencyException if no such currency exists.
+     */
+    public static CurrencyUnit getCurrency(int numericCode, String... providers) {
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrency(numericCode, providers);
+    }
+
+    /**
+     * Access the ordinal of a canonical currency instance. When the default currencies singleton is active,
+     * currencies returned by this class are interned, so for each provider and currency code the same instance
+     * is returned, which is assigned a dense ordinal starting from {@code 0}. Ordinals can be used to index
+     * per currency tables, they are valid until the {@link javax.money.spi.Bootstrap} services change.
+     *
+     * @param currency the currency, not {@code null}.
+     * @return the ordinal, or {@code -1}, if the currency is not a canonical instance.
+     */
+    public static int getCurrencyOrdinal(CurrencyUnit currency) {
+        Objects.requireNonNull(currency, "Currency may not be null");
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getOrdinal(currency);
     }
 
     /**
@@ -144,10 +288,8 @@ public final class Monetary {
      * @throws UnknownCurrencyException if no such currency exists.
      */
     public static CurrencyUnit getCurrency(Locale locale, String... providers) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getCurrency(locale, providers);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrency(locale, providers);
     }
 
     /**
@@ -162,10 +304,8 @@ public final class Monetary {
      * @throws UnknownCurrencyException if no such currency exists.
      */
     public static Set<CurrencyUnit> getCurrencies(Locale locale, String... providers) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getCurrencies(locale, providers);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrencies(locale, providers);
     }
 
     /**
@@ -178,10 +318,8 @@ public final class Monetary {
      * would return a result for the given code.
      */
     public static boolean isCurrencyAvailable(String code, String... providers) {
-        if(monetaryCurrenciesSpi()==null){
-            throw new IllegalStateException("No Monetary Spi loaded.");
-        }
-        return monetaryCurrenciesSpi().isCurrencyAvailable(code, providers);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.isCurrencyAvailable(code, providers);
     }
 
     /**
@@ -194,10 +332,8 @@ public final class Monetary {
      * result containing a currency with the given code.
      */
     public static boolean isCurrencyAvailable(Locale locale, String... providers) {
-        if(monetaryCurrenciesSpi()==null){
-            throw new IllegalStateException("No Monetary Spi loaded.");
-        }
-        return monetaryCurrenciesSpi().isCurrencyAvailable(locale, providers);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.isCurrencyAvailable(locale, providers);
     }
 
     /**
@@ -207,10 +343,8 @@ public final class Monetary {
      * @return the list of known currencies, never null.
      */
     public static Collection<CurrencyUnit> getCurrencies(String... providers) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getCurrencies(providers);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrencies(providers);
     }
 
     /**
@@ -220,10 +354,8 @@ public final class Monetary {
      * @return the list of known currencies, never null.
      */
     public static CurrencyUnit getCurrency(CurrencyQuery query) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getCurrency(query);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrency(query);
     }
 
 
@@ -234,10 +366,8 @@ public final class Monetary {
      * @return the list of known currencies, never null.
      */
     public static Collection<CurrencyUnit> getCurrencies(CurrencyQuery query) {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getCurrencies(query);
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getCurrencies(query);
     }
 
     /**
@@ -246,10 +376,8 @@ public final class Monetary {
      * @return the list of known currencies, never null.
      */
     public static Set<String> getCurrencyProviderNames() {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getProviderNames();
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getProviderNames();
     }
 
     /**
@@ -259,10 +387,8 @@ public final class Monetary {
      * @return the orderend list provider names, modelling the default provider chain used, never null.
      */
     public static List<String> getDefaultCurrencyProviderChain() {
-        if(monetaryCurrenciesSpi()==null) {
-            throw new MonetaryException("No MonetaryCurrenciesSingletonSpi loaded, check your system setup.");
-        }
-        return monetaryCurrenciesSpi().getDefaultProviderChain();
+        BaseMonetaryCurrenciesSingletonSpi spi = monetaryCurrenciesSpi();
+        return spi.getDefaultProviderChain();
     }
 
     /**
@@ -276,10 +402,6 @@ public final class Monetary {
      */
     public static <T extends MonetaryAmount> MonetaryAmountFactory<T> getAmountFactory(Class<T> amountType) {
         MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
-        if(spi ==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
-        }
         MonetaryAmountFactory<T> factory = spi.getAmountFactory(amountType);
         if(factory==null){
             throw new MonetaryException("No AmountFactory available for type: " + amountType.getName());
@@ -298,10 +420,6 @@ public final class Monetary {
      */
     public static MonetaryAmountFactory<?> getDefaultAmountFactory() {
         MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
-        if(spi ==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
-        }
         return spi.getDefaultAmountFactory();
     }
 
@@ -313,11 +431,8 @@ public final class Monetary {
      * corresponding {@link MonetaryAmountFactory} instances provided, never {@code null}
      */
     public static Collection<MonetaryAmountFactory<?>> getAmountFactories() {
-        if(monetaryAmountsSingletonSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonSpi().getAmountFactories();
+        MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
+        return spi.getAmountFactories();
     }
 
     /**
@@ -328,11 +443,8 @@ public final class Monetary {
      * corresponding {@link MonetaryAmountFactory} instances provided, never {@code null}
      */
     public static Collection<Class<? extends MonetaryAmount>> getAmountTypes() {
-        if(monetaryAmountsSingletonSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonSpi().getAmountTypes();
+        MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
+        return spi.getAmountTypes();
     }
 
     /**
@@ -342,11 +454,8 @@ public final class Monetary {
      * @return all current default {@link MonetaryAmount} implementation class, never {@code null}
      */
     public static Class<? extends MonetaryAmount> getDefaultAmountType() {
-        if(monetaryAmountsSingletonSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonSpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonSpi().getDefaultAmountType();
+        MonetaryAmountsSingletonSpi spi = monetaryAmountsSingletonSpi();
+        return spi.getDefaultAmountType();
     }
 
     /**
@@ -357,11 +466,8 @@ public final class Monetary {
      * @return the factory found, or null.
      */
     public static MonetaryAmountFactory getAmountFactory(MonetaryAmountFactoryQuery query) {
-        if(monetaryAmountsSingletonQuerySpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonQuerySpi().getAmountFactory(query);
+        MonetaryAmountsSingletonQuerySpi spi = monetaryAmountsSingletonQuerySpi();
+        return spi.getAmountFactory(query);
     }
 
     /**
@@ -371,11 +477,8 @@ public final class Monetary {
      * @return the instances found, never null.
      */
     public static Collection<MonetaryAmountFactory<?>> getAmountFactories(MonetaryAmountFactoryQuery query) {
-        if(monetaryAmountsSingletonQuerySpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonQuerySpi().getAmountFactories(query);
+        MonetaryAmountsSingletonQuerySpi spi = monetaryAmountsSingletonQuerySpi();
+        return spi.getAmountFactories(query);
     }
 
     /**
@@ -385,11 +488,8 @@ public final class Monetary {
      * @return true, if at least one {@link MonetaryAmountFactory} matches the query.
      */
     public static boolean isAvailable(MonetaryAmountFactoryQuery query) {
-        if(monetaryAmountsSingletonQuerySpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryAmountsSingletonQuerySpi loaded, query functionality is not available.");
-        }
-        return monetaryAmountsSingletonQuerySpi().isAvailable(query);
+        MonetaryAmountsSingletonQuerySpi spi = monetaryAmountsSingletonQuerySpi();
+        return spi.isAvailable(query);
     }
 
     /**
@@ -401,10 +501,11 @@ public final class Monetary {
      * @return the (shared) default rounding instance.
      */
     public static MonetaryRounding getDefaultRounding() {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getDefaultRounding();
+        return spi.getDefaultRounding();
     }
 
 
@@ -421,10 +522,11 @@ public final class Monetary {
      * rounding, never {@code null}.
      */
     public static MonetaryRounding getRounding(CurrencyUnit currencyUnit, String... providers) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getRounding(currencyUnit, providers);
+        return spi.getRounding(currencyUnit, providers);
     }
 
     /**
@@ -440,10 +542,11 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static MonetaryRounding getRounding(String roundingName, String... providers) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getRounding(roundingName, providers);
+        return spi.getRounding(roundingName, providers);
     }
 
     /**
@@ -456,10 +559,11 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static MonetaryRounding getRounding(RoundingQuery roundingQuery) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getRounding(roundingQuery);
+        return spi.getRounding(roundingQuery);
     }
 
     /**
@@ -473,10 +577,11 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static boolean isRoundingAvailable(String roundingName, String... providers) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().isRoundingAvailable(roundingName, providers);
+        return spi.isRoundingAvailable(roundingName, providers);
     }
 
     /**
@@ -491,10 +596,11 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static boolean isRoundingAvailable(CurrencyUnit currencyUnit, String... providers) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().isRoundingAvailable(currencyUnit, providers);
+        return spi.isRoundingAvailable(currencyUnit, providers);
     }
 
     /**
@@ -507,10 +613,11 @@ public final class Monetary {
      *                                  {@link javax.money.spi.RoundingProviderSpi} instance.
      */
     public static boolean isRoundingAvailable(RoundingQuery roundingQuery) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().isRoundingAvailable(roundingQuery);
+        return spi.isRoundingAvailable(roundingQuery);
     }
 
 
@@ -522,10 +629,11 @@ public final class Monetary {
      * @return all {@link MonetaryRounding} instances macthing the query, never {@code null}.
      */
     public static Collection<MonetaryRounding> getRoundings(RoundingQuery roundingQuery) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getRoundings(roundingQuery);
+        return spi.getRoundings(roundingQuery);
     }
 
 
@@ -537,10 +645,11 @@ public final class Monetary {
      * @return the set of custom rounding ids, never {@code null}.
      */
     public static Set<String> getRoundingNames(String... providers) {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getRoundingNames(providers);
+        return spi.getRoundingNames(providers);
     }
 
     /**
@@ -549,10 +658,11 @@ public final class Monetary {
      * @return the set of provider names, never {@code null}.
      */
     public static Set<String> getRoundingProviderNames() {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getProviderNames();
+        return spi.getProviderNames();
     }
 
 
@@ -562,11 +672,74 @@ public final class Monetary {
      * @return the chained list of provider names, never {@code null}.
      */
     public static List<String> getDefaultRoundingProviderChain() {
-        if(monetaryRoundingsSpi()==null){
+        MonetaryRoundingsSingletonSpi spi = monetaryRoundingsSpi();
+        if(spi==null){
             throw new MonetaryException("No MonetaryRoundingsSpi loaded, query functionality is not available.");
         }
-        return monetaryRoundingsSpi().getDefaultProviderChain();
+        return spi.getDefaultProviderChain();
     }
 
 
+    /**
+     * Adapts a {@link MonetaryCurrenciesSingletonSpi} not extending {@link BaseMonetaryCurrenciesSingletonSpi}. The
+     * methods of the interface are delegated, the additional lookups use their default behaviour.
+     */
+    private static final class CurrenciesSingletonSpiAdapter extends BaseMonetaryCurrenciesSingletonSpi {
+        private final MonetaryCurrenciesSingletonSpi spi;
+
+        CurrenciesSingletonSpiAdapter(MonetaryCurrenciesSingletonSpi spi) {
+            this.spi = spi;
+        }
+
+        @Override
+        public List<String> getDefaultProviderChain() {
+            return spi.getDefaultProviderChain();
+        }
+
+        @Override
+        public Set<String> getProviderNames() {
+            return spi.getProviderNames();
+        }
+
+        @Override
+        public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+            return spi.getCurrencies(query);
+        }
+
+        @Override
+        public CurrencyUnit getCurrency(String currencyCode, String... providers) {
+            return spi.getCurrency(currencyCode, providers);
+        }
+
+        @Override
+        public CurrencyUnit getCurrency(Locale country, String... providers) {
+            return spi.getCurrency(country, providers);
+        }
+
+        @Override
+        public Set<CurrencyUnit> getCurrencies(Locale locale, String... providers) {
+            return spi.getCurrencies(locale, providers);
+        }
+
+        @Override
+        public boolean isCurrencyAvailable(String code, String... providers) {
+            return spi.isCurrencyAvailable(code, providers);
+        }
+
+        @Override
+        public boolean isCurrencyAvailable(Locale locale, String... providers) {
+            return spi.isCurrencyAvailable(locale, providers);
+        }
+
+        @Override
+        public Set<CurrencyUnit> getCurrencies(String... providers) {
+            return spi.getCurrencies(providers);
+        }
+
+        @Override
+        public CurrencyUnit getCurrency(CurrencyQuery query) {
+            return spi.getCurrency(query);
+        }
+    }
+
 }
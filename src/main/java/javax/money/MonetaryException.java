@@ -53,4 +53,20 @@ public class MonetaryException extends RuntimeException {
 	public MonetaryException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	/**
+	 * Creates an instance with the specified detail message and cause, optionally without stack trace.
+	 * Exceptions without stack trace are considerably cheaper to create, which matters for exceptions
+	 * signalling invalid input on hot lookup paths.
+	 * 
+	 * @param message
+	 *            the detail message.
+	 * @param cause
+	 *            the cause, or {@code null}.
+	 * @param writableStackTrace
+	 *            whether or not the stack trace should be writable.
+	 */
+	protected MonetaryException(String message, Throwable cause, boolean writableStackTrace) {
+		super(message, cause, true, writableStackTrace);
+	}
 }
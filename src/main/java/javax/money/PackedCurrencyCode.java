@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+/**
+ * Helpers for packing ISO 4217 currency codes, made of three uppercase ASCII letters, into an {@code int}.
+ * Each letter is stored as base 26 digit, so packed codes are in the range {@code 0} to {@code 17575} and can be
+ * used as array index. Codes can be packed directly from parser input, without creating a {@link String}.
+ *
+ * @author Anatole Tresch
+ * @see Monetary#getCurrency(CharSequence, int, int, String...)
+ */
+public final class PackedCurrencyCode {
+
+    /**
+     * The value returned for codes, which are not made of three uppercase ASCII letters.
+     */
+    public static final int INVALID = -1;
+    /**
+     * The number of distinct packed codes.
+     */
+    public static final int SIZE = 26 * 26 * 26;
+
+    /**
+     * Private constructor, static helpers only.
+     */
+    private PackedCurrencyCode() {
+    }
+
+    /**
+     * Packs a currency code.
+     *
+     * @param code the currency code, not null.
+     * @return the packed code, or {@link #INVALID}.
+     */
+    public static int pack(CharSequence code) {
+        return pack(code, 0, code.length());
+    }
+
+    /**
+     * Packs the currency code contained in the given range of a character sequence.
+     *
+     * @param code  the characters, not null.
+     * @param start the index of the first character, inclusive.
+     * @param end   the index of the last character, exclusive.
+     * @return the packed code, or {@link #INVALID}.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    public static int pack(CharSequence code, int start, int end) {
+        checkRange(start, end, code.length());
+        if (end - start != 3) {
+            return INVALID;
+        }
+        return pack(code.charAt(start), code.charAt(start + 1), code.charAt(start + 2));
+    }
+
+    /**
+     * Packs the currency code contained in the given range of a character array.
+     *
+     * @param code  the characters, not null.
+     * @param start the index of the first character, inclusive.
+     * @param end   the index of the last character, exclusive.
+     * @return the packed code, or {@link #INVALID}.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    public static int pack(char[] code, int start, int end) {
+        checkRange(start, end, code.length);
+        if (end - start != 3) {
+            return INVALID;
+        }
+        return pack(code[start], code[start + 1], code[start + 2]);
+    }
+
+    /**
+     * Packs the currency code contained in the given range of an ASCII encoded byte array.
+     *
+     * @param code  the bytes, not null.
+     * @param start the index of the first byte, inclusive.
+     * @param end   the index of the last byte, exclusive.
+     * @return the packed code, or {@link #INVALID}.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    public static int pack(byte[] code, int start, int end) {
+        checkRange(start, end, code.length);
+        if (end - start != 3) {
+            return INVALID;
+        }
+        return pack((char) (code[start] & 0xFF), (char) (code[start + 1] & 0xFF), (char) (code[start + 2] & 0xFF));
+    }
+
+    /**
+     * Evaluates the currency code of a packed code.
+     *
+     * @param packedCode the packed code.
+     * @return the currency code, never null.
+     * @throws IllegalArgumentException if the packed code is not valid.
+     */
+    public static String unpack(int packedCode) {
+        if (packedCode < 0 || packedCode >= SIZE) {
+            throw new IllegalArgumentException("Invalid packed currency code: " + packedCode);
+        }
+        return new String(new char[]{(char) ('A' + packedCode / (26 * 26)), (char) ('A' + packedCode / 26 % 26),
+                (char) ('A' + packedCode % 26)});
+    }
+
+    private static int pack(char c0, char c1, char c2) {
+        if (isLetter(c0) && isLetter(c1) && isLetter(c2)) {
+            return ((c0 - 'A') * 26 + (c1 - 'A')) * 26 + (c2 - 'A');
+        }
+        return INVALID;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static void checkRange(int start, int end, int length) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + '-' + end + ", length: " + length);
+        }
+    }
+}
@@ -50,6 +50,21 @@ public class UnknownCurrencyException extends MonetaryException {
 		this.locale = null;
 	}
 
+	/**
+	 * Creates a new exception instance when a {@link CurrencyUnit} could not be evaluated given a
+	 * currency code, optionally without stack trace.
+	 * 
+	 * @param code
+	 *            The unknown currency code (the message is constructed automatically), not null.
+	 * @param writableStackTrace
+	 *            whether or not the stack trace should be writable.
+	 */
+	UnknownCurrencyException(String code, boolean writableStackTrace) {
+		super("Unknown currency code: " + code, null, writableStackTrace);
+		this.currencyCode = code;
+		this.locale = null;
+	}
+
 	/**
 	 * Creates a new exception instance when a {@link CurrencyUnit} could not be evaluated given a
 	 * (country) {@link java.util.Locale}.
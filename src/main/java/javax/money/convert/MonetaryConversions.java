@@ -28,6 +28,7 @@ import javax.money.Monetary;
 import javax.money.MonetaryException;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryConversionsSingletonSpi;
+import javax.money.spi.ServiceCache;
 
 /**
  * This singleton defines access to the exchange and currency conversion logic
@@ -54,12 +55,19 @@ import javax.money.spi.MonetaryConversionsSingletonSpi;
  */
 public final class MonetaryConversions{
 
+    /**
+     * The SPI, cached until the {@link Bootstrap#getEpoch() bootstrap epoch} changes.
+     */
+    private static final ServiceCache<MonetaryConversionsSingletonSpi> SPI =
+            new ServiceCache<MonetaryConversionsSingletonSpi>(MonetaryConversionsSingletonSpi.class) {
+            };
+
     /**
      * The SPI currently active, use {@link java.util.ServiceLoader} to register an
      * alternate implementation.
      */
     private static MonetaryConversionsSingletonSpi getMonetaryConversionsSpi() {
-        MonetaryConversionsSingletonSpi spi = Bootstrap.getService(MonetaryConversionsSingletonSpi.class);
+        MonetaryConversionsSingletonSpi spi = SPI.get();
         if(spi==null){
             throw new MonetaryException("MonetaryConversionsSingletonSpi no available: no conversion will be possible.");
         }
@@ -117,10 +125,6 @@ public final class MonetaryConversions{
      * @throws IllegalArgumentException if the query defines {@link ExchangeRateProvider}s that are not available.
      */
     public static CurrencyConversion getConversion(ConversionQuery conversionQuery){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().getConversion(conversionQuery);
     }
 
@@ -131,10 +135,6 @@ public final class MonetaryConversions{
      * @return true, if a conversion is accessible from {@link #getConversion(ConversionQuery)}.
      */
     public static boolean isConversionAvailable(ConversionQuery conversionQuery){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().isConversionAvailable(conversionQuery);
     }
 
@@ -147,10 +147,6 @@ public final class MonetaryConversions{
      * @return true, if a conversion is accessible from {@link #getConversion(String, String...)}.
      */
     public static boolean isConversionAvailable(String currencyCode, String... providers){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().isConversionAvailable(Monetary.getCurrency(currencyCode), providers);
     }
 
@@ -162,10 +158,6 @@ public final class MonetaryConversions{
      * @return true, if a conversion is accessible from {@link #getConversion(String, String...)}.
      */
     public static boolean isConversionAvailable(CurrencyUnit termCurrency, String... providers){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().isConversionAvailable(termCurrency, providers);
     }
 
@@ -227,10 +219,6 @@ public final class MonetaryConversions{
      * @throws IllegalArgumentException if no such {@link ExchangeRateProvider} is available.
      */
     public static ExchangeRateProvider getExchangeRateProvider(ConversionQuery conversionQuery){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().getExchangeRateProvider(conversionQuery);
     }
 
@@ -241,10 +229,6 @@ public final class MonetaryConversions{
      * @return true, if a rate provider is accessible from {@link #getExchangeRateProvider(ConversionQuery)}}.
      */
     public static boolean isExchangeRateProviderAvailable(ConversionQuery conversionQuery){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().isExchangeRateProviderAvailable(conversionQuery);
     }
 
@@ -257,10 +241,6 @@ public final class MonetaryConversions{
      * @return all supported provider ids, never {@code null}.
      */
     public static Collection<String> getConversionProviderNames(){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
         return getMonetaryConversionsSpi().getProviderNames();
     }
 
@@ -270,14 +250,12 @@ public final class MonetaryConversions{
      * @return the default provider, never {@code null}.
      */
     public static List<String> getDefaultConversionProviderChain(){
-        if(getMonetaryConversionsSpi()==null){
-            throw new MonetaryException(
-                    "No MonetaryConveresionsSingletonSpi " + "loaded, query functionality is not available.");
-        }
-        List<String> defaultChain = getMonetaryConversionsSpi().getDefaultProviderChain();
+        MonetaryConversionsSingletonSpi spi = getMonetaryConversionsSpi();
+        List<String> defaultChain = spi.getDefaultProviderChain();
         Objects.requireNonNull(defaultChain, "No default provider chain provided by SPI: " +
-                getMonetaryConversionsSpi().getClass().getName());
+                spi.getClass().getName());
         return defaultChain;
     }
 
+
 }
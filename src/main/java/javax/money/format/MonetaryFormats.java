@@ -32,6 +32,7 @@ import javax.money.MonetaryException;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryAmountFormatProviderSpi;
 import javax.money.spi.MonetaryFormatsSingletonSpi;
+import javax.money.spi.ServiceCache;
 
 /**
  * This class models the singleton accessor for {@link MonetaryAmountFormat} instances.
@@ -43,18 +44,19 @@ import javax.money.spi.MonetaryFormatsSingletonSpi;
  */
 public final class MonetaryFormats {
 
+    /**
+     * The SPI, cached until the {@link Bootstrap#getEpoch() bootstrap epoch} changes.
+     */
+    private static final ServiceCache<MonetaryFormatsSingletonSpi> SPI =
+            new ServiceCache<MonetaryFormatsSingletonSpi>(MonetaryFormatsSingletonSpi.class) {
+                @Override
+                protected MonetaryFormatsSingletonSpi createDefault() {
+                    return new DefaultMonetaryFormatsSingletonSpi();
+                }
+            };
+
     private static MonetaryFormatsSingletonSpi monetaryFormatsSingletonSpi() {
-        try {
-            MonetaryFormatsSingletonSpi spi = Bootstrap.getService(MonetaryFormatsSingletonSpi.class);
-            if(spi==null){
-                spi = new DefaultMonetaryFormatsSingletonSpi();
-            }
-            return spi;
-        } catch (Exception e) {
-            Logger.getLogger(MonetaryFormats.class.getName())
-                    .log(Level.WARNING, "Failed to load MonetaryFormatsSingletonSpi, using default.", e);
-            return new DefaultMonetaryFormatsSingletonSpi();
-        }
+        return SPI.get();
     }
 
     /**
@@ -73,11 +75,12 @@ public final class MonetaryFormats {
      * @return true, if a corresponding {@link MonetaryAmountFormat} is accessible.
      */
     public static boolean isAvailable(Locale locale, String... providers) {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().isAvailable(locale, providers);
+        return spi.isAvailable(locale, providers);
     }
 
     /**
@@ -103,11 +106,12 @@ public final class MonetaryFormats {
      * @return true, if a corresponding {@link MonetaryAmountFormat} is accessible.
      */
     public static boolean isAvailable(AmountFormatQuery formatQuery) {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().isAvailable(formatQuery);
+        return spi.isAvailable(formatQuery);
     }
 
     /**
@@ -121,11 +125,12 @@ public final class MonetaryFormats {
      *                           corresponding {@link MonetaryAmountFormat} instance.
      */
     public static MonetaryAmountFormat getAmountFormat(AmountFormatQuery formatQuery) {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().getAmountFormat(formatQuery);
+        return spi.getAmountFormat(formatQuery);
     }
 
     /**
@@ -139,11 +144,12 @@ public final class MonetaryFormats {
      *                           corresponding {@link MonetaryAmountFormat} instance.
      */
     public static Collection<MonetaryAmountFormat> getAmountFormats(AmountFormatQuery formatQuery) {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().getAmountFormats(formatQuery);
+        return spi.getAmountFormats(formatQuery);
     }
 
     /**
@@ -177,11 +183,12 @@ public final class MonetaryFormats {
      * @return the provider names, never null.
      */
     public static Collection<String> getFormatProviderNames() {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().getProviderNames();
+        return spi.getProviderNames();
     }
 
     /**
@@ -190,11 +197,12 @@ public final class MonetaryFormats {
      * @return the default provider chain, never null.
      */
     public static List<String> getDefaultFormatProviderChain() {
-        if(monetaryFormatsSingletonSpi()==null){
+        MonetaryFormatsSingletonSpi spi = monetaryFormatsSingletonSpi();
+        if(spi==null){
             throw new MonetaryException(
                     "No MonetaryFormatsSingletonSpi " + "loaded, query functionality is not available.");
         }
-        return monetaryFormatsSingletonSpi().getDefaultProviderChain();
+        return spi.getDefaultProviderChain();
     }
 
     /**
@@ -20,17 +20,26 @@ import javax.money.CurrencyQuery;
 import javax.money.CurrencyQueryBuilder;
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryException;
+import javax.money.PackedCurrencyCode;
 import javax.money.UnknownCurrencyException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 /**
- * Factory singleton backing interface for {@link javax.money.Monetary} that provides access to
- * different registered {@link CurrencyProviderSpi} instances.
+ * Base class for {@link MonetaryCurrenciesSingletonSpi} implementations. All methods are implemented based on
+ * {@link #getCurrencies(CurrencyQuery)}, implementations may override them to provide more efficient
+ * lookups. This includes the lookups {@link javax.money.Monetary} offers beyond the
+ * {@link MonetaryCurrenciesSingletonSpi} interface, such as {@link #findCurrency(String, String...)}.
+ * Singletons implementing the interface directly are adapted to this class by {@link javax.money.Monetary},
+ * so they get the default behaviour of these lookups.
  * <p>
- * Implementations of this interface must be thread safe.
+ * Implementations of this class must be thread safe.
  *
  * @author Anatole Tresch
  * @version 0.8
@@ -154,4 +163,85 @@ public abstract class BaseMonetaryCurrenciesSingletonSpi implements MonetaryCurr
         }
         throw new MonetaryException("Ambiguous request for CurrencyUnit: " + query + ", found: " + currencies);
     }
+
+    /**
+     * Access a currency based on the currency code, without throwing an exception for unknown codes.
+     *
+     * @param currencyCode the ISO currency code, not {@code null}.
+     * @param providers    the (optional) specification of providers to consider. If not set (empty) the providers
+     *                     as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance, or {@code null}.
+     * @throws javax.money.MonetaryException if multiple currencies match the code.
+     */
+    public CurrencyUnit findCurrency(String currencyCode, String... providers) {
+        Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+        return getCurrency(CurrencyQueryBuilder.of().setCurrencyCodes(currencyCode).setProviderNames(providers)
+                .build());
+    }
+
+    /**
+     * Access a currency based on its {@link PackedCurrencyCode packed} currency code, without throwing an
+     * exception for unknown codes.
+     *
+     * @param packedCode the packed currency code.
+     * @param providers  the (optional) specification of providers to consider. If not set (empty) the providers
+     *                   as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance, or {@code null}.
+     * @throws IllegalArgumentException if the packed code is not valid.
+     * @throws javax.money.MonetaryException if multiple currencies match the code.
+     */
+    public CurrencyUnit findCurrencyByPackedCode(int packedCode, String... providers) {
+        return findCurrency(PackedCurrencyCode.unpack(packedCode), providers);
+    }
+
+    /**
+     * Access the currencies for a batch of currency codes. Each distinct code is resolved only once.
+     *
+     * @param currencyCodes the ISO currency codes, not {@code null}, may contain duplicates.
+     * @param providers     the (optional) specification of providers to consider. If not set (empty) the
+     *                      providers as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the currencies, in the order of the codes passed, containing {@code null} for unknown codes.
+     * @throws javax.money.MonetaryException if multiple currencies match a code.
+     */
+    public List<CurrencyUnit> findCurrencies(List<String> currencyCodes, String... providers) {
+        Map<String, CurrencyUnit> resolved = new HashMap<>();
+        List<CurrencyUnit> result = new ArrayList<>(currencyCodes.size());
+        for (String currencyCode : currencyCodes) {
+            Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+            if (!resolved.containsKey(currencyCode)) {
+                resolved.put(currencyCode, findCurrency(currencyCode, providers));
+            }
+            result.add(resolved.get(currencyCode));
+        }
+        return result;
+    }
+
+    /**
+     * Access a currency based on its ISO 4217 numeric code.
+     *
+     * @param numericCode the ISO numeric currency code.
+     * @param providers   the (optional) specification of providers to consider. If not set (empty) the providers
+     *                    as defined by #getDefaultRoundingProviderChain() should be used.
+     * @return the corresponding {@link javax.money.CurrencyUnit} instance.
+     * @throws javax.money.UnknownCurrencyException if no such currency exists.
+     */
+    public CurrencyUnit getCurrency(int numericCode, String... providers) {
+        CurrencyUnit currency =
+                getCurrency(CurrencyQueryBuilder.of().setNumericCodes(numericCode).setProviderNames(providers).build());
+        if (currency == null) {
+            throw new UnknownCurrencyException(String.valueOf(numericCode));
+        }
+        return currency;
+    }
+
+    /**
+     * Access the ordinal of a canonical currency instance returned by this singleton. This implementation does
+     * not intern currencies, so no ordinals are assigned.
+     *
+     * @param currency the currency, not {@code null}.
+     * @return the ordinal, or {@code -1}, if the currency is not a canonical instance.
+     */
+    public int getOrdinal(CurrencyUnit currency) {
+        return -1;
+    }
 }
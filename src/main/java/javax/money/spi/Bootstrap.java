@@ -16,13 +16,25 @@
  */
 package javax.money.spi;
 
+import javax.money.CurrencyQueryBuilder;
+import javax.money.convert.ExchangeRateProvider;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
@@ -30,18 +42,37 @@ import java.util.logging.Logger;
  * This singleton provides access to the services available in the current runtime environment and context. The
  * behaviour can be adapted, by calling {@link #init(ServiceProvider)} before accessing any monetary
  * services.
+ * <p>
+ * The services returned by the current {@link ServiceProvider} are cached in an immutable snapshot per service
+ * type, so repeated lookups neither lock nor allocate. {@link #getService(Class)} only asks the provider for
+ * the service with the highest precedence, so the remaining services of the chain need not be created. Calling {@link #init(ServiceProvider)} discards all
+ * snapshots atomically, increments the {@link #getEpoch() epoch} and notifies the registered
+ * {@link BootstrapListener}s. If the provider fails loading a service type, the failure is passed to the caller
+ * and nothing is cached for the type, so the next lookup asks the provider again.
  *
  * @author Anatole Tresch
  */
 public final class Bootstrap {
     /**
-     * The ServiceProvider used.
+     * The ServiceProvider used, together with the service snapshots loaded from it.
      */
-    private static volatile ServiceProvider serviceProviderDelegate;
+    private static volatile ServiceRegistry registry;
     /**
      * The shared lock instance user.
      */
     private static final Object LOCK = new Object();
+    /**
+     * The listeners notified, when the {@link ServiceProvider} is replaced.
+     */
+    private static final CopyOnWriteArrayList<BootstrapListener> LISTENERS = new CopyOnWriteArrayList<>();
+    /**
+     * The service types resolved by {@link #warmUp(int)}.
+     */
+    private static final Class<?>[] SERVICE_TYPES = {CurrencyProviderSpi.class, RoundingProviderSpi.class,
+            MonetaryAmountFactoryProviderSpi.class, MonetaryAmountFormatProviderSpi.class, ExchangeRateProvider.class,
+            MonetaryCurrenciesSingletonSpi.class, MonetaryRoundingsSingletonSpi.class, MonetaryAmountsSingletonSpi.class,
+            MonetaryAmountsSingletonQuerySpi.class, MonetaryConversionsSingletonSpi.class,
+            MonetaryFormatsSingletonSpi.class};
 
     /**
      * Private singletons constructor.
@@ -74,20 +105,128 @@ public final class Bootstrap {
      */
     public static ServiceProvider init(ServiceProvider serviceProvider) {
         Objects.requireNonNull(serviceProvider);
+        ServiceRegistry prevRegistry;
+        long epoch;
+        synchronized (LOCK) {
+            prevRegistry = Bootstrap.registry;
+            epoch = prevRegistry == null ? 1L : prevRegistry.epoch + 1;
+            Bootstrap.registry = new ServiceRegistry(serviceProvider, epoch);
+        }
+        if (prevRegistry==null) {
+            Logger.getLogger(Bootstrap.class.getName())
+                    .info("Money Bootstrap: new ServiceProvider set: " + serviceProvider.getClass().getName());
+        } else {
+            Logger.getLogger(Bootstrap.class.getName())
+                    .warning("Money Bootstrap: ServiceProvider replaced: " + serviceProvider.getClass().getName());
+        }
+        fireServiceProviderChanged(serviceProvider, epoch);
+        return prevRegistry == null ? null : prevRegistry.serviceProvider;
+    }
+
+    /**
+     * Replaces the given {@link ServiceProvider}, if it is still the provider in use. Components installing a
+     * provider temporarily, such as the OSGi activator, use this method to restore the previous provider, without
+     * replacing a provider installed by somebody else meanwhile. As with {@link #init(ServiceProvider)} the epoch
+     * is incremented and the registered {@link BootstrapListener}s are notified.
+     *
+     * @param serviceProvider the {@link ServiceProvider} expected to be in use, not null.
+     * @param replacement     the {@link ServiceProvider} to use instead, or {@code null}, to load the default
+     *                        provider again.
+     * @return true, if the provider was in use and has been replaced.
+     */
+    public static boolean replace(ServiceProvider serviceProvider, ServiceProvider replacement) {
+        Objects.requireNonNull(serviceProvider);
+        ServiceProvider newProvider;
+        long epoch;
         synchronized (LOCK) {
-            if (Bootstrap.serviceProviderDelegate==null) {
-                Bootstrap.serviceProviderDelegate = serviceProvider;
-                Logger.getLogger(Bootstrap.class.getName())
-                        .info("Money Bootstrap: new ServiceProvider set: " + serviceProvider.getClass().getName());
-                return null;
-            } else {
-                ServiceProvider prevProvider = Bootstrap.serviceProviderDelegate;
-                Bootstrap.serviceProviderDelegate = serviceProvider;
-                Logger.getLogger(Bootstrap.class.getName())
-                        .warning("Money Bootstrap: ServiceProvider replaced: " + serviceProvider.getClass().getName());
-                return prevProvider;
+            ServiceRegistry current = Bootstrap.registry;
+            if (current == null || current.serviceProvider != serviceProvider) {
+                return false;
             }
+            newProvider = replacement == null ? loadDefaultServiceProvider() : replacement;
+            epoch = current.epoch + 1;
+            Bootstrap.registry = new ServiceRegistry(newProvider, epoch);
         }
+        Logger.getLogger(Bootstrap.class.getName())
+                .info("Money Bootstrap: ServiceProvider restored: " + newProvider.getClass().getName());
+        fireServiceProviderChanged(newProvider, epoch);
+        return true;
+    }
+
+    /**
+     * Discards all service snapshots of the given {@link ServiceProvider}, if it is the provider in use. This
+     * allows providers whose services change at runtime, e.g. when bundles are started or stopped in an OSGi
+     * container, to publish their updates. As with {@link #init(ServiceProvider)} the epoch is incremented and
+     * the registered {@link BootstrapListener}s are notified.
+     *
+     * @param serviceProvider the {@link ServiceProvider} whose services changed, not null.
+     * @return true, if the provider is in use and its snapshots were discarded.
+     */
+    public static boolean invalidate(ServiceProvider serviceProvider) {
+        Objects.requireNonNull(serviceProvider);
+        long epoch;
+        synchronized (LOCK) {
+            ServiceRegistry current = Bootstrap.registry;
+            if (current == null || current.serviceProvider != serviceProvider) {
+                return false;
+            }
+            epoch = current.epoch + 1;
+            Bootstrap.registry = new ServiceRegistry(serviceProvider, epoch);
+        }
+        fireServiceProviderChanged(serviceProvider, epoch);
+        return true;
+    }
+
+    /**
+     * Notifies the registered listeners, that the services changed.
+     *
+     * @param serviceProvider the {@link ServiceProvider} in use, not null.
+     * @param epoch           the new epoch.
+     */
+    private static void fireServiceProviderChanged(ServiceProvider serviceProvider, long epoch) {
+        for (BootstrapListener listener : LISTENERS) {
+            try {
+                listener.serviceProviderChanged(serviceProvider, epoch);
+            } catch (Exception e) {
+                Logger.getLogger(Bootstrap.class.getName()).log(Level.WARNING,
+                        "Money Bootstrap: listener failed: " + listener.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener, which is notified each time {@link #init(ServiceProvider)} replaces the
+     * {@link ServiceProvider}. Registering the same listener twice has no effect.
+     *
+     * @param listener the listener, not null.
+     */
+    public static void addListener(BootstrapListener listener) {
+        Objects.requireNonNull(listener);
+        LISTENERS.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(BootstrapListener)}.
+     *
+     * @param listener the listener, not null.
+     * @return true, if the listener was registered.
+     */
+    public static boolean removeListener(BootstrapListener listener) {
+        Objects.requireNonNull(listener);
+        return LISTENERS.remove(listener);
+    }
+
+    /**
+     * Access the current epoch. The epoch is incremented each time {@link #init(ServiceProvider)} replaces
+     * the {@link ServiceProvider}, so callers caching services can compare it to detect stale entries. Reading
+     * the epoch is a single volatile read, callers preferring to be notified can register a
+     * {@link BootstrapListener} instead.
+     *
+     * @return the current epoch.
+     */
+    public static long getEpoch() {
+        ServiceRegistry current = registry;
+        return current == null ? 0L : current.epoch;
     }
 
     /**
@@ -96,14 +235,26 @@ public final class Bootstrap {
      * @return the {@link ServiceProvider} used.
      */
     static ServiceProvider getServiceProvider() {
-        if (serviceProviderDelegate==null) {
+        return getRegistry().serviceProvider;
+    }
+
+    /**
+     * Access the current {@link ServiceRegistry}. If necessary the {@link ServiceProvider} will be lazily loaded.
+     *
+     * @return the current registry, never null.
+     */
+    private static ServiceRegistry getRegistry() {
+        ServiceRegistry current = registry;
+        if (current==null) {
             synchronized (LOCK) {
-                if (serviceProviderDelegate==null) {
-                    serviceProviderDelegate = loadDefaultServiceProvider();
+                current = registry;
+                if (current==null) {
+                    current = new ServiceRegistry(loadDefaultServiceProvider(), 0L);
+                    registry = current;
                 }
             }
         }
-        return serviceProviderDelegate;
+        return current;
     }
 
     /**
@@ -114,23 +265,204 @@ public final class Bootstrap {
      * @see ServiceProvider#getServices(Class)
      */
     public static <T> Collection<T> getServices(Class<T> serviceType) {
-        return getServiceProvider().getServices(serviceType);
+        return getRegistry().getServices(serviceType);
     }
 
     /**
-     * Delegate method for {@link ServiceProvider#getServices(Class)}.
+     * Delegate method for {@link ServiceProvider#getService(Class)}.
      *
      * @param serviceType the service type.
      * @return the service found, or {@code null}.
-     * @see ServiceProvider#getServices(Class)
+     * @see ServiceProvider#getService(Class)
      */
     public static <T> T getService(Class<T> serviceType) {
-        List<T> services = getServiceProvider().getServices(serviceType);
-        if(services.isEmpty()){
-            return null;
+        return getRegistry().getService(serviceType);
+    }
+
+    /**
+     * Eagerly loads all monetary services, using one thread per available processor. See
+     * {@link #warmUp(int)}.
+     */
+    public static void warmUp() {
+        warmUp(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Eagerly loads all monetary services, so the first calls into the API do not pay for loading them.
+     * The services of the different SPI types are loaded in parallel, hereby each provider is asked for
+     * its data once (e.g. the currencies or rounding names provided), so it can initialize its internal
+     * tables. Failures are logged, but do not stop the remaining services from being loaded.
+     * <p>
+     * This method blocks until all services are loaded.
+     *
+     * @param parallelism the maximal number of threads used, at least 1.
+     */
+    public static void warmUp(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, SERVICE_TYPES.length),
+                new WarmUpThreadFactory());
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(SERVICE_TYPES.length);
+            for (final Class<?> serviceType : SERVICE_TYPES) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        warmUp(serviceType);
+                        return null;
+                    }
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    Logger.getLogger(Bootstrap.class.getName())
+                            .log(Level.WARNING, "Money Bootstrap: failed to warm up services.", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads the services of the given type and triggers their initialization.
+     *
+     * @param serviceType the service type, not null.
+     */
+    private static void warmUp(Class<?> serviceType) {
+        for (Object service : getServices(serviceType)) {
+            try {
+                if (service instanceof CurrencyProviderSpi) {
+                    ((CurrencyProviderSpi) service).getCurrencies(CurrencyQueryBuilder.of().build());
+                } else if (service instanceof RoundingProviderSpi) {
+                    ((RoundingProviderSpi) service).getRoundingNames();
+                } else if (service instanceof MonetaryAmountFactoryProviderSpi) {
+                    ((MonetaryAmountFactoryProviderSpi<?>) service).createMonetaryAmountFactory();
+                } else if (service instanceof MonetaryAmountFormatProviderSpi) {
+                    ((MonetaryAmountFormatProviderSpi) service).getAvailableLocales();
+                } else if (service instanceof MonetaryCurrenciesSingletonSpi) {
+                    ((MonetaryCurrenciesSingletonSpi) service).getDefaultProviderChain();
+                } else if (service instanceof MonetaryRoundingsSingletonSpi) {
+                    ((MonetaryRoundingsSingletonSpi) service).getDefaultProviderChain();
+                } else if (service instanceof MonetaryConversionsSingletonSpi) {
+                    ((MonetaryConversionsSingletonSpi) service).getDefaultProviderChain();
+                } else if (service instanceof MonetaryFormatsSingletonSpi) {
+                    ((MonetaryFormatsSingletonSpi) service).getDefaultProviderChain();
+                }
+            } catch (Exception e) {
+                Logger.getLogger(Bootstrap.class.getName()).log(Level.WARNING,
+                        "Money Bootstrap: failed to warm up service: " + service.getClass().getName(), e);
+            }
+        }
+        getService(serviceType);
+    }
+
+    /**
+     * Creates the daemon threads used by {@link #warmUp(int)}.
+     */
+    private static final class WarmUpThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "money-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * A {@link ServiceProvider} together with the service snapshots loaded from it so far. A registry is
+     * never modified after {@link #init(ServiceProvider)} replaced it, readers holding an old instance
+     * therefore always see a consistent state.
+     */
+    private static final class ServiceRegistry {
+        /**
+         * Marker for service types without any service registered.
+         */
+        private static final Object NO_SERVICE = new Object();
+
+        private final ServiceProvider serviceProvider;
+        private final long epoch;
+        /**
+         * Immutable lists of all services, in the order returned by the {@link ServiceProvider}, per type.
+         */
+        private final ConcurrentHashMap<Class<?>, List<?>> services = new ConcurrentHashMap<>();
+        /**
+         * The service with the highest precedence, or {@link #NO_SERVICE}, per type. Evaluated separately from
+         * {@link #services}, so services further down the chain need not be created.
+         */
+        private final ConcurrentHashMap<Class<?>, Object> primaries = new ConcurrentHashMap<>();
+        /**
+         * True, if the provider is a {@link ScopedServiceProvider}, whose services must not be shared globally.
+         */
+        private final boolean scoped;
+
+        ServiceRegistry(ServiceProvider serviceProvider, long epoch) {
+            this.serviceProvider = serviceProvider;
+            this.epoch = epoch;
+            this.scoped = serviceProvider instanceof ScopedServiceProvider;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> getServices(Class<T> serviceType) {
+            if (scoped) {
+                return createSnapshot(serviceProvider.getServices(serviceType));
+            }
+            List<?> snapshot = services.get(serviceType);
+            if (snapshot == null) {
+                snapshot = createSnapshot(serviceProvider.getServices(serviceType));
+                List<?> prevSnapshot = services.putIfAbsent(serviceType, snapshot);
+                if (prevSnapshot != null) {
+                    snapshot = prevSnapshot;
+                }
+            }
+            return (List<T>) snapshot;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T getService(Class<T> serviceType) {
+            if (scoped) {
+                return serviceProvider.getService(serviceType);
+            }
+            Object primary = primaries.get(serviceType);
+            if (primary == null) {
+                primary = serviceProvider.getService(serviceType);
+                if (primary == null) {
+                    primary = NO_SERVICE;
+                }
+                Object prevPrimary = primaries.putIfAbsent(serviceType, primary);
+                if (prevPrimary != null) {
+                    primary = prevPrimary;
+                }
+            }
+            return primary == NO_SERVICE ? null : (T) primary;
+        }
+
+        /**
+         * Creates an immutable snapshot of the services returned by the {@link ServiceProvider}. Lists created by
+         * the {@link DefaultServiceProvider} are immutable already and are kept as is, so their services are
+         * still created lazily.
+         *
+         * @param loaded the services loaded, may be null.
+         * @return the immutable snapshot, never null.
+         */
+        private static <T> List<T> createSnapshot(List<T> loaded) {
+            if (loaded == null || loaded.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if (loaded instanceof DefaultServiceProvider.LazyServiceList) {
+                return loaded;
+            }
+            @SuppressWarnings("unchecked")
+            T[] instances = (T[]) loaded.toArray();
+            return Collections.unmodifiableList(Arrays.asList(instances));
         }
-        services = new ArrayList<>(services);
-        return services.get(0);
     }
 
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+/**
+ * Listener notified by {@link Bootstrap} whenever {@link Bootstrap#init(ServiceProvider)} replaces the
+ * {@link ServiceProvider} in use, or {@link Bootstrap#invalidate(ServiceProvider)} signals that its services
+ * changed. Components caching services, or data derived from them, can register
+ * a listener to drop their caches, instead of re-resolving the services on each access.
+ * <p>
+ * Listeners are called synchronously by the thread calling {@link Bootstrap#init(ServiceProvider)} or
+ * {@link Bootstrap#invalidate(ServiceProvider)}, after the new services are active. Implementations should therefore return quickly and must be thread-safe.
+ *
+ * @author Anatole Tresch
+ * @see Bootstrap#addListener(BootstrapListener)
+ */
+public interface BootstrapListener {
+
+    /**
+     * Called after a new {@link ServiceProvider} was activated, or the services of the current one changed.
+     *
+     * @param serviceProvider the {@link ServiceProvider} now in use, not null.
+     * @param epoch           the new {@link Bootstrap#getEpoch() epoch}.
+     */
+    void serviceProviderChanged(ServiceProvider serviceProvider, long epoch);
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ServiceProvider} implementation for environments running several applications in one JVM, such as
+ * application servers. Services are loaded and cached separately for each context class loader, so each
+ * application scans its {@code META-INF/services} registrations once and sees only the services visible
+ * to it.
+ * <p>
+ * The services loaded for a class loader are only reachable from the class loader itself: they are attached
+ * to a proxy class defined by the class loader, using a {@link ClassValue}. This provider references the class
+ * loaders and their proxy classes weakly only, so a class loader can be collected together with its services,
+ * even if the services are loaded from the application's own classes. Containers may call
+ * {@link #release(ClassLoader)} on undeployment to discard the services early.
+ * <p>
+ * This provider is a {@link ScopedServiceProvider}: {@link Bootstrap} and the singleton accessors do not cache
+ * the services returned globally, but per class loader. To enable this provider register it in
+ * {@code META-INF/services/javax.money.spi.ServiceProvider} or call {@link Bootstrap#init(ServiceProvider)}
+ * on startup.
+ *
+ * @author Anatole Tresch
+ */
+public class ClassLoaderServiceProvider implements ScopedServiceProvider {
+    /**
+     * The interface implemented by the proxy classes, visible from every class loader.
+     */
+    private static final Class<?>[] SCOPE_INTERFACES = {Runnable.class};
+
+    /**
+     * The services loaded, attached to the scope class of each class loader.
+     */
+    private final ClassValue<LoaderServices> loaderServices = new LoaderServicesValue();
+    /**
+     * The scope classes, i.e. the proxy classes defined by the class loaders services were loaded for.
+     */
+    private final Map<ClassLoader, WeakReference<Class<?>>> scopeClasses = new WeakHashMap<>();
+    /**
+     * The services accessed most recently, checked before locking {@link #scopeClasses}.
+     */
+    private volatile WeakReference<LoaderServices> recentServices;
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public <T> List<T> getServices(Class<T> serviceType) {
+        return getLoaderServices(DefaultServiceProvider.getClassLoader()).getServices(serviceType);
+    }
+
+    @Override
+    public <T> T getService(Class<T> serviceType) {
+        return getLoaderServices(DefaultServiceProvider.getClassLoader()).getService(serviceType);
+    }
+
+    /**
+     * Access the instance stored under the given key for the current context class loader, creating it if
+     * necessary.
+     *
+     * @param key     the key, not null.
+     * @param factory the factory creating the instance, not null.
+     * @param <T>     the instance type.
+     * @return the instance of the current class loader, or {@code null}, if the factory returned {@code null}.
+     * @throws Exception if the factory failed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getScopedInstance(Object key, Callable<? extends T> factory) throws Exception {
+        ConcurrentHashMap<Object, Object> instances = getLoaderServices(DefaultServiceProvider.getClassLoader())
+                .instances;
+        Object instance = instances.get(key);
+        if (instance == null) {
+            instance = factory.call();
+            if (instance == null) {
+                return null;
+            }
+            Object prevInstance = instances.putIfAbsent(key, instance);
+            if (prevInstance != null) {
+                instance = prevInstance;
+            }
+        }
+        return (T) instance;
+    }
+
+    /**
+     * Removes the services loaded for the given class loader, e.g. when an application is undeployed.
+     *
+     * @param classLoader the class loader, not null.
+     * @return true, if services were loaded for the class loader.
+     */
+    public boolean release(ClassLoader classLoader) {
+        synchronized (scopeClasses) {
+            recentServices = null;
+            WeakReference<Class<?>> scopeClass = scopeClasses.remove(classLoader);
+            Class<?> type = scopeClass == null ? null : scopeClass.get();
+            if (type == null) {
+                return false;
+            }
+            loaderServices.remove(type);
+            return true;
+        }
+    }
+
+    /**
+     * Access the services of the given class loader, creating them if necessary.
+     *
+     * @param classLoader the class loader, not null.
+     * @return the services of the class loader, never null.
+     */
+    private LoaderServices getLoaderServices(ClassLoader classLoader) {
+        WeakReference<LoaderServices> recent = recentServices;
+        LoaderServices recentFound = recent == null ? null : recent.get();
+        if (recentFound != null && recentFound.classLoader == classLoader) {
+            return recentFound;
+        }
+        synchronized (scopeClasses) {
+            WeakReference<Class<?>> scopeClass = scopeClasses.get(classLoader);
+            Class<?> type = scopeClass == null ? null : scopeClass.get();
+            if (type == null) {
+                type = Proxy.getProxyClass(classLoader, SCOPE_INTERFACES);
+                scopeClasses.put(classLoader, new WeakReference<Class<?>>(type));
+            }
+            LoaderServices services = loaderServices.get(type);
+            recentServices = new WeakReference<>(services);
+            return services;
+        }
+    }
+
+    /**
+     * Creates the services of the class loader, which defined a scope class. The services are stored in the
+     * scope class, so they are reachable from their class loader only.
+     */
+    private static final class LoaderServicesValue extends ClassValue<LoaderServices> {
+        @Override
+        protected LoaderServices computeValue(Class<?> type) {
+            return new LoaderServices(type.getClassLoader());
+        }
+    }
+
+    /**
+     * The services loaded from a single class loader. Each service type is loaded once, into an immutable
+     * list.
+     */
+    private static final class LoaderServices extends DefaultServiceProvider {
+        private final ClassLoader classLoader;
+        /**
+         * The instances stored for this class loader, see {@link #getScopedInstance(Object, Callable)}.
+         */
+        private final ConcurrentHashMap<Object, Object> instances = new ConcurrentHashMap<>();
+
+        LoaderServices(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        ClassLoader getServiceClassLoader() {
+            return classLoader;
+        }
+    }
+
+}
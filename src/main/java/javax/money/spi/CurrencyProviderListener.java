@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+/**
+ * Listener notified whenever a {@link ReloadableCurrencyProviderSpi} publishes new currency data. Components
+ * caching currencies, or data derived from them, can register a listener to drop their caches, instead of
+ * querying the providers on each access.
+ * <p>
+ * Listeners are called synchronously by the thread calling
+ * {@link ReloadableCurrencyProviderSpi#publish(java.util.Map)}, after the new data is visible to readers.
+ * Implementations should therefore return quickly and must be thread-safe.
+ *
+ * @author Anatole Tresch
+ * @see ReloadableCurrencyProviderSpi#addListener(CurrencyProviderListener)
+ */
+public interface CurrencyProviderListener {
+
+    /**
+     * Called after a provider published new currency data.
+     *
+     * @param provider the provider, whose currencies changed, not null.
+     */
+    void currenciesChanged(CurrencyProviderSpi provider);
+}
@@ -16,20 +16,41 @@
  */
 package javax.money.spi;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
- * This class implements the (default) {@link ServiceProvider} interface and hereby uses the JDK
- * {@link java.util.ServiceLoader} to load the services required.
+ * This class implements the (default) {@link ServiceProvider} interface and hereby reads the
+ * {@code META-INF/services} registrations also used by the JDK {@link java.util.ServiceLoader} to load the
+ * services required.
+ * <p>
+ * Services are loaded at most once per type: concurrent callers asking for a type not loaded yet wait for
+ * the same in-flight load, whereas different types are still loaded in parallel. Loading only resolves the
+ * implementation classes and their {@link ServicePriority}, each service is instantiated on first access of
+ * its element in the list returned. Hereby {@link #getService(Class)} only creates the service with the
+ * highest precedence, whereas iterating all services creates them all.
+ * <p>
+ * Like the {@link ServiceLoader}, a {@link ServiceConfigurationError} naming the registration is thrown, if the
+ * registrations cannot be read, or a registered class cannot be found, is not a subtype of the service type,
+ * or cannot be instantiated. Failed loads are not remembered, the next access loads the type again.
  *
  * @author Anatole Tresch
  */
 class DefaultServiceProvider implements ServiceProvider {
-    /** List of services loaded, per class. */
-    private final ConcurrentHashMap<Class, List<Object>> servicesLoaded = new ConcurrentHashMap<>();
+    /** The resource prefix of the service registrations. */
+    private static final String SERVICES_PREFIX = "META-INF/services/";
+    /** List of services loaded (or being loaded), per class. */
+    private final ConcurrentHashMap<Class<?>, FutureTask<List<Object>>> servicesLoaded = new ConcurrentHashMap<>();
 
     @Override
     public int getPriority() {
@@ -44,16 +65,35 @@ class DefaultServiceProvider implements ServiceProvider {
      * @param <T>
      *            the concrete type.
      * @return the items found, never {@code null}.
+     * @throws ServiceConfigurationError if the services could not be loaded.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> List<T> getServices(final Class<T> serviceType) {
-        @SuppressWarnings("unchecked")
-        List<T> found = (List<T>) servicesLoaded.get(serviceType);
-        if (found != null) {
-            return found;
+        FutureTask<List<Object>> loading = servicesLoaded.get(serviceType);
+        if (loading == null) {
+            FutureTask<List<Object>> newLoading = new FutureTask<>(new Callable<List<Object>>() {
+                @Override
+                public List<Object> call() throws IOException {
+                    return (List<Object>) loadServices(serviceType);
+                }
+            });
+            loading = servicesLoaded.putIfAbsent(serviceType, newLoading);
+            if (loading == null) {
+                loading = newLoading;
+                newLoading.run();
+            }
+        }
+        try {
+            return (List<T>) awaitUninterruptibly(loading);
+        } catch (ExecutionException e) {
+            servicesLoaded.remove(serviceType, loading);
+            if (e.getCause() instanceof ServiceConfigurationError) {
+                throw (ServiceConfigurationError) e.getCause();
+            }
+            throw new ServiceConfigurationError(serviceType.getName() + ": Error reading service registrations",
+                    e.getCause());
         }
-
-        return loadServices(serviceType);
     }
 
     @Override
@@ -66,33 +106,227 @@ class DefaultServiceProvider implements ServiceProvider {
     }
 
     /**
-     * Loads and registers services.
+     * Loads the services of the given type. This method is called at most once per type, unless loading
+     * failed.
      *
      * @param   serviceType  The service type.
      * @param   <T>          the concrete type.
      *
      * @return  the items found, never {@code null}.
+     * @throws  IOException  if the service registrations could not be read.
+     * @throws  ServiceConfigurationError  if a registered class cannot be found or has the wrong type.
+     */
+    <T> List<T> loadServices(final Class<T> serviceType) throws IOException {
+        ClassLoader classLoader = getServiceClassLoader();
+        List<ServiceHandle<T>> handles = new ArrayList<>();
+        for (String className : getServiceClassNames(serviceType, classLoader)) {
+            Class<?> type;
+            try {
+                type = Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new ServiceConfigurationError(serviceType.getName() + ": Provider " + className + " not found",
+                        e);
+            }
+            if (!serviceType.isAssignableFrom(type)) {
+                throw new ServiceConfigurationError(
+                        serviceType.getName() + ": Provider " + className + " not a subtype");
+            }
+            handles.add(new ServiceHandle<>(serviceType, type.asSubclass(serviceType)));
+        }
+        Collections.sort(handles);
+        return new LazyServiceList<>(handles);
+    }
+
+    /**
+     * Evaluates the implementation class names registered for the given service type, by reading all
+     * {@code META-INF/services} registrations visible to the given class loader.
+     *
+     * @param serviceType the service type, not null.
+     * @param classLoader the class loader, not null.
+     * @return the class names found, never null.
+     * @throws IOException if a registration could not be read.
+     */
+    Collection<String> getServiceClassNames(Class<?> serviceType, ClassLoader classLoader) throws IOException {
+        Set<String> classNames = new LinkedHashSet<>();
+        Enumeration<URL> resources = classLoader.getResources(SERVICES_PREFIX + serviceType.getName());
+        while (resources.hasMoreElements()) {
+            try (InputStream in = resources.nextElement().openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    if (comment >= 0) {
+                        line = line.substring(0, comment);
+                    }
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        classNames.add(line);
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Access the class loader, whose registrations are loaded. By default this is the class loader
+     * returned by {@link #getClassLoader()}.
+     *
+     * @return the class loader, never null.
+     */
+    ClassLoader getServiceClassLoader() {
+        return getClassLoader();
+    }
+
+    /**
+     * Sorts the service types loaded into their order of precedence: services with a higher
+     * {@link ServicePriority} come first, services with the same priority are ordered by their simple
+     * class name. The order is evaluated once when loading, so callers can walk the services as returned.
+     *
+     * @param o1 the first service type, not null.
+     * @param o2 the second service type, not null.
+     * @return the comparison result.
+     */
+    static int compareServiceTypes(Class<?> o1, Class<?> o2) {
+        int prio1 = getPriority(o1);
+        int prio2 = getPriority(o2);
+        if (prio1 != prio2) {
+            return prio1 > prio2 ? -1 : 1;
+        }
+        return o1.getSimpleName().compareTo(o2.getSimpleName());
+    }
+
+    /**
+     * Evaluates the priority of a service implementation.
+     *
+     * @param type the service implementation type, not null.
+     * @return the value of its {@link ServicePriority}, or {@code 0}.
+     */
+    static int getPriority(Class<?> type) {
+        ServicePriority priority = type.getAnnotation(ServicePriority.class);
+        return priority == null ? 0 : priority.value();
+    }
+
+    /**
+     * Access the class loader used for loading services, which is the context class loader, if set.
+     *
+     * @return the class loader, never null.
+     */
+    static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = DefaultServiceProvider.class.getClassLoader();
+        }
+        return classLoader;
+    }
+
+    /**
+     * Waits for a load to complete, preserving the interrupted state of the current thread.
+     *
+     * @param loading the load in progress.
+     * @return the services loaded.
+     * @throws ExecutionException if loading failed.
      */
-    private <T> List<T> loadServices(final Class<T> serviceType) {
-        List<T> services = new ArrayList<>();
+    private static List<Object> awaitUninterruptibly(FutureTask<List<Object>> loading) throws ExecutionException {
+        boolean interrupted = false;
         try {
-            for (T t : ServiceLoader.load(serviceType)) {
-                services.add(t);
+            while (true) {
+                try {
+                    return loading.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
             }
-            Collections.sort(services, new Comparator<T>() {
-                @Override
-                public int compare(T o1, T o2) {
-                    return o1.getClass().getSimpleName().compareTo(o2.getClass().getSimpleName());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Handle of a service implementation, which is instantiated on first access.
+     *
+     * @param <T> the service type.
+     */
+    static final class ServiceHandle<T> implements Comparable<ServiceHandle<?>> {
+        private final Class<?> serviceType;
+        private final Class<? extends T> type;
+        private volatile T instance;
+        /**
+         * The cause, if instantiating the service failed, so later accesses fail the same way.
+         */
+        private volatile Throwable failure;
+
+        ServiceHandle(Class<?> serviceType, Class<? extends T> type) {
+            this.serviceType = serviceType;
+            this.type = type;
+        }
+
+        /**
+         * Access the service instance, creating it if necessary.
+         *
+         * @return the service, never null.
+         * @throws ServiceConfigurationError if the service could not be instantiated.
+         */
+        T get() {
+            T service = instance;
+            if (service == null) {
+                synchronized (this) {
+                    service = instance;
+                    if (service == null && failure == null) {
+                        try {
+                            service = type.getDeclaredConstructor().newInstance();
+                            instance = service;
+                        } catch (InvocationTargetException e) {
+                            failure = e.getCause();
+                        } catch (Exception | LinkageError e) {
+                            failure = e;
+                        }
+                    }
+                    if (service == null) {
+                        throw new ServiceConfigurationError(serviceType.getName() + ": Provider " + type.getName()
+                                + " could not be instantiated", failure);
+                    }
                 }
-            });
-            @SuppressWarnings("unchecked")
-            final List<T> previousServices = (List<T>) servicesLoaded.putIfAbsent(serviceType, (List<Object>) services);
-            return Collections.unmodifiableList(previousServices != null ? previousServices : services);
-        } catch (Exception e) {
-            Logger.getLogger(DefaultServiceProvider.class.getName()).log(Level.WARNING,
-                                                                         "Error loading services of type " + serviceType, e);
-            return services;
+            }
+            return service;
+        }
+
+        @Override
+        public int compareTo(ServiceHandle<?> o) {
+            return compareServiceTypes(type, o.type);
+        }
+    }
+
+    /**
+     * Immutable list of the services of a type, ordered by precedence. Each service is instantiated when its
+     * element is first accessed, {@link #size()} and {@link #isEmpty()} do not create any service.
+     * Accessing a service that cannot be instantiated throws a {@link ServiceConfigurationError}.
+     *
+     * @param <T> the service type.
+     */
+    static final class LazyServiceList<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] handles;
+
+        LazyServiceList(List<ServiceHandle<T>> handles) {
+            this.handles = handles.toArray();
+        }
+
+        @Override
+        public T get(int index) {
+            return handle(handles[index]).get();
+        }
+
+        @Override
+        public int size() {
+            return handles.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        private ServiceHandle<T> handle(Object handle) {
+            return (ServiceHandle<T>) handle;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ServiceProvider} implementation that loads services from the precomputed index files written by
+ * {@code javax.money.spi.processor.ServiceIndexProcessor} at compile time, instead of scanning the
+ * {@code META-INF/services} entries of all jars for each service type. All index files visible on the
+ * classpath are read once, on first access.
+ * <p>
+ * For the service types covered by the index only the indexed implementations are loaded, without scanning
+ * the {@code META-INF/services} entries of the classpath. Service types not covered by any index are looked up
+ * in the {@code META-INF/services} entries as usual. Hence, if a jar shipping no index registers
+ * implementations of a service type indexed by another jar, these are only found, if the system property
+ * {@value #MERGE_PROPERTY} is set to {@code true}. Then the indexed implementations are merged with the
+ * registered ones, ordered before them.
+ * <p>
+ * To enable this provider register it in {@code META-INF/services/javax.money.spi.ServiceProvider} or call
+ * {@link Bootstrap#init(ServiceProvider)} on startup.
+ *
+ * @author Anatole Tresch
+ */
+public class IndexedServiceProvider extends DefaultServiceProvider {
+    /**
+     * The resource name of the service index files.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/javamoney/services.index";
+    /**
+     * The system property, which if set to {@code true}, merges the indexed implementations with the
+     * {@code META-INF/services} registrations.
+     */
+    public static final String MERGE_PROPERTY = "javax.money.services.index.merge";
+    /**
+     * Whether to merge the indexed implementations with the {@code META-INF/services} registrations.
+     */
+    private final boolean merge = Boolean.getBoolean(MERGE_PROPERTY);
+    /**
+     * The implementation class names found, per service type name, or {@code null} if not yet read.
+     */
+    private volatile Map<String, List<String>> index;
+
+    @Override
+    public int getPriority() {
+        return 10;
+    }
+
+    @Override
+    Collection<String> getServiceClassNames(Class<?> serviceType, ClassLoader classLoader) throws IOException {
+        List<String> implementations = getIndex(classLoader).get(serviceType.getName());
+        if (implementations == null) {
+            return super.getServiceClassNames(serviceType, classLoader);
+        }
+        if (!merge) {
+            return implementations;
+        }
+        Set<String> classNames = new LinkedHashSet<>(implementations);
+        classNames.addAll(super.getServiceClassNames(serviceType, classLoader));
+        return classNames;
+    }
+
+    /**
+     * Access the service index, reading all index files visible on first access.
+     *
+     * @param classLoader the class loader, not null.
+     * @return the implementation class names, per service type name, never null.
+     */
+    private Map<String, List<String>> getIndex(ClassLoader classLoader) {
+        Map<String, List<String>> serviceIndex = index;
+        if (serviceIndex == null) {
+            synchronized (this) {
+                serviceIndex = index;
+                if (serviceIndex == null) {
+                    serviceIndex = readIndex(classLoader);
+                    index = serviceIndex;
+                }
+            }
+        }
+        return serviceIndex;
+    }
+
+    /**
+     * Reads and merges all index files visible to the given class loader.
+     *
+     * @param classLoader the class loader, not null.
+     * @return the implementation class names, per service type name, never null.
+     */
+    private static Map<String, List<String>> readIndex(ClassLoader classLoader) {
+        Map<String, Set<String>> entries = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                readIndex(resources.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            Logger.getLogger(IndexedServiceProvider.class.getName()).log(Level.WARNING,
+                    "Failed to read service index " + INDEX_RESOURCE, e);
+        }
+        Map<String, List<String>> result = new HashMap<>();
+        for (Map.Entry<String, Set<String>> en : entries.entrySet()) {
+            result.put(en.getKey(), Collections.unmodifiableList(new ArrayList<>(en.getValue())));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Reads a single index file. Each line has the form {@code serviceType=implementationType}, lines
+     * starting with {@code #} are ignored.
+     *
+     * @param url     the index file, not null.
+     * @param entries the entries read so far, not null.
+     * @throws IOException if the file could not be read.
+     */
+    private static void readIndex(URL url, Map<String, Set<String>> entries) throws IOException {
+        try (InputStream in = url.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int sep = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || sep <= 0) {
+                    continue;
+                }
+                String serviceType = line.substring(0, sep).trim();
+                Set<String> implementations = entries.get(serviceType);
+                if (implementations == null) {
+                    implementations = new LinkedHashSet<>();
+                    entries.put(serviceType, implementations);
+                }
+                implementations.add(line.substring(sep + 1).trim());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link CurrencyProviderSpi}, whose currencies may change at runtime without notice, e.g. because
+ * currencies can be registered programmatically. The default {@link MonetaryCurrenciesSingletonSpi} caches the
+ * currencies of all providers, except of providers annotated this way, which are queried on each request.
+ * Providers announcing their changes should extend {@link ReloadableCurrencyProviderSpi} instead, so their
+ * currencies remain cached until the next change.
+ *
+ * @author Anatole Tresch
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface MutableCurrencies {
+}
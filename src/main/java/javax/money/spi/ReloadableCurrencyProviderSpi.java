@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import javax.money.CurrencyQuery;
+import javax.money.CurrencyUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Base class for {@link CurrencyProviderSpi} implementations, whose currencies change at runtime. The
+ * currencies are held in an immutable table, which is replaced as a whole by {@link #publish(Map)}: readers
+ * see either the old or the new table, without locking. After publishing, all registered
+ * {@link CurrencyProviderListener} instances are notified, so the currencies can be cached by the
+ * {@link javax.money.Monetary} singleton, while still being refreshed on each change.
+ * <p>
+ * Queries are answered by currency code, numeric code and country, queries without any of them return all
+ * currencies of the table. Until the first table is published, no currencies are provided.
+ *
+ * @author Anatole Tresch
+ */
+public abstract class ReloadableCurrencyProviderSpi implements CurrencyProviderSpi {
+
+    private static final CopyOnWriteArrayList<CurrencyProviderListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private volatile CurrencyTable table = new CurrencyTable(Collections.<CurrencyUnit, Collection<Locale>>emptyMap());
+
+    /**
+     * Registers a listener notified whenever any provider publishes new currencies.
+     *
+     * @param listener the listener, not null.
+     */
+    public static void addListener(CurrencyProviderListener listener) {
+        LISTENERS.addIfAbsent(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(CurrencyProviderListener)}.
+     *
+     * @param listener the listener, not null.
+     */
+    public static void removeListener(CurrencyProviderListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Replaces the currencies provided and notifies the registered listeners.
+     *
+     * @param currencies the currencies, with the countries using them, not null. The map is copied.
+     */
+    public void publish(Map<CurrencyUnit, ? extends Collection<Locale>> currencies) {
+        this.table = new CurrencyTable(currencies);
+        for (CurrencyProviderListener listener : LISTENERS) {
+            try {
+                listener.currenciesChanged(this);
+            } catch (Exception e) {
+                Logger.getLogger(ReloadableCurrencyProviderSpi.class.getName())
+                        .log(Level.WARNING, "Currency provider listener failed: " + listener, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isCurrencyAvailable(CurrencyQuery query) {
+        return !getCurrencies(query).isEmpty();
+    }
+
+    @Override
+    public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+        CurrencyTable currentTable = this.table;
+        if (query.getCurrencyCodes().isEmpty() && query.getNumericCodes().isEmpty()
+                && query.getCountries().isEmpty()) {
+            return currentTable.currencies;
+        }
+        Set<CurrencyUnit> result = new LinkedHashSet<>();
+        for (String code : query.getCurrencyCodes()) {
+            addIfFound(result, currentTable.currenciesByCode.get(code));
+        }
+        for (Integer numericCode : query.getNumericCodes()) {
+            addIfFound(result, currentTable.currenciesByNumericCode.get(numericCode));
+        }
+        for (Locale country : query.getCountries()) {
+            Set<CurrencyUnit> countryCurrencies = currentTable.currenciesByCountry.get(country.getCountry());
+            if (countryCurrencies != null) {
+                result.addAll(countryCurrencies);
+            }
+        }
+        return result;
+    }
+
+    private static void addIfFound(Set<CurrencyUnit> result, CurrencyUnit currency) {
+        if (currency != null) {
+            result.add(currency);
+        }
+    }
+
+    /**
+     * Immutable table of the currencies published.
+     */
+    private static final class CurrencyTable {
+        private final Set<CurrencyUnit> currencies;
+        private final Map<String, CurrencyUnit> currenciesByCode = new HashMap<>();
+        private final Map<Integer, CurrencyUnit> currenciesByNumericCode = new HashMap<>();
+        private final Map<String, Set<CurrencyUnit>> currenciesByCountry = new HashMap<>();
+
+        CurrencyTable(Map<CurrencyUnit, ? extends Collection<Locale>> currencies) {
+            for (Map.Entry<CurrencyUnit, ? extends Collection<Locale>> entry : currencies.entrySet()) {
+                CurrencyUnit currency = entry.getKey();
+                currenciesByCode.put(currency.getCurrencyCode(), currency);
+                if (currency.getNumericCode() >= 0) {
+                    currenciesByNumericCode.put(currency.getNumericCode(), currency);
+                }
+                for (Locale country : entry.getValue()) {
+                    Set<CurrencyUnit> countryCurrencies = currenciesByCountry.get(country.getCountry());
+                    if (countryCurrencies == null) {
+                        countryCurrencies = new LinkedHashSet<>();
+                        currenciesByCountry.put(country.getCountry(), countryCurrencies);
+                    }
+                    countryCurrencies.add(currency);
+                }
+            }
+            this.currencies = Collections.unmodifiableSet(new LinkedHashSet<>(currencies.keySet()));
+        }
+    }
+}
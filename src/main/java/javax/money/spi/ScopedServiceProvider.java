@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Capability of a {@link ServiceProvider}, whose services differ per scope, such as per context class loader
+ * of an application running in a container. Since the services are not the same for all callers,
+ * {@link Bootstrap} and the singleton accessors, such as {@link javax.money.Monetary}, do not cache them globally,
+ * but keep their cached instances in the current scope, using {@link #getScopedInstance(Object, Callable)}.
+ * Hereby each scope has its own instances, which are released together with the scope.
+ *
+ * @author Anatole Tresch
+ * @see ClassLoaderServiceProvider
+ */
+public interface ScopedServiceProvider extends ServiceProvider {
+
+    /**
+     * Access the instance stored under the given key in the current scope, creating and storing it, if
+     * not yet present.
+     *
+     * @param key     the key, not null.
+     * @param factory the factory creating the instance, not null. If it returns {@code null} or fails,
+     *                nothing is stored.
+     * @param <T>     the instance type.
+     * @return the instance of the current scope, or {@code null}, if the factory returned {@code null}.
+     * @throws Exception if the factory failed.
+     */
+    <T> T getScopedInstance(Object key, Callable<? extends T> factory) throws Exception;
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the service with the highest precedence of a type, as returned by {@link Bootstrap#getService(Class)},
+ * until the {@link Bootstrap#getEpoch() epoch} changes. The singleton accessors, such as
+ * {@link javax.money.Monetary}, use this class to avoid resolving their singleton SPI on each call.
+ * <p>
+ * If no service is registered, or resolving the service fails, the instance returned by {@link #createDefault()}
+ * is used and cached for the current epoch. The service is resolved again after the epoch changed, e.g. after
+ * {@link Bootstrap#invalidate(ServiceProvider)}.
+ * <p>
+ * If the {@link ServiceProvider} is a {@link ScopedServiceProvider}, nothing is cached globally: the service is
+ * resolved from the provider of the current scope on each access, and the default instance is kept per scope,
+ * also if resolving the service fails.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <T> the service type.
+ * @author Anatole Tresch
+ */
+public abstract class ServiceCache<T> {
+
+    private final Class<T> serviceType;
+    /**
+     * The service last resolved, together with the epoch it was resolved for.
+     */
+    private volatile Entry<T> entry;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param serviceType the service type, not null.
+     */
+    protected ServiceCache(Class<T> serviceType) {
+        this.serviceType = Objects.requireNonNull(serviceType);
+    }
+
+    /**
+     * Access the service, resolving it, if the epoch changed since it was last resolved.
+     *
+     * @return the service, or the default instance, or {@code null}, if neither is available.
+     */
+    public T get() {
+        long epoch = Bootstrap.getEpoch();
+        Entry<T> current = entry;
+        if (current != null && current.epoch == epoch) {
+            return current.service;
+        }
+        ServiceProvider serviceProvider = Bootstrap.getServiceProvider();
+        if (serviceProvider instanceof ScopedServiceProvider) {
+            entry = null;
+            return getScoped((ScopedServiceProvider) serviceProvider);
+        }
+        T service;
+        try {
+            service = Bootstrap.getService(serviceType);
+        } catch (Exception | ServiceConfigurationError e) {
+            Logger.getLogger(ServiceCache.class.getName())
+                    .log(Level.WARNING, "Failed to load " + serviceType.getName() + ", using default.", e);
+            service = null;
+        }
+        if (service == null) {
+            service = createDefault();
+        }
+        entry = new Entry<>(epoch, service);
+        return service;
+    }
+
+    /**
+     * Access the service of the current scope, or the default instance kept in the current scope.
+     *
+     * @param serviceProvider the scoped provider, not null.
+     * @return the service, or the default instance, or {@code null}, if neither is available.
+     */
+    private T getScoped(ScopedServiceProvider serviceProvider) {
+        try {
+            T service = serviceProvider.getService(serviceType);
+            if (service != null) {
+                return service;
+            }
+        } catch (Exception | ServiceConfigurationError e) {
+            Logger.getLogger(ServiceCache.class.getName())
+                    .log(Level.WARNING, "Failed to load " + serviceType.getName() + ", using default.", e);
+        }
+        try {
+            return serviceProvider.getScopedInstance(this, new Callable<T>() {
+                @Override
+                public T call() {
+                    return createDefault();
+                }
+            });
+        } catch (Exception e) {
+            Logger.getLogger(ServiceCache.class.getName())
+                    .log(Level.WARNING, "Failed to create default " + serviceType.getName() + ".", e);
+            return createDefault();
+        }
+    }
+
+    /**
+     * Creates the instance used, if no service is registered, or it cannot be loaded. By default no instance
+     * is created.
+     *
+     * @return the default instance, or {@code null}.
+     */
+    protected T createDefault() {
+        return null;
+    }
+
+    /**
+     * A service resolved for a given epoch.
+     */
+    private static final class Entry<T> {
+        private final long epoch;
+        private final T service;
+
+        Entry(long epoch, T service) {
+            this.epoch = epoch;
+            this.service = service;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines the precedence of a service implementation, such as a {@link CurrencyProviderSpi} or a
+ * {@link RoundingProviderSpi}, loaded by the default {@link ServiceProvider}. Services with a higher
+ * value are ordered first, hereby also defining the default provider chains. Services not annotated
+ * have a priority of {@code 0}, services with the same priority are ordered by their simple class name.
+ *
+ * @author Anatole Tresch
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ServicePriority {
+
+    /**
+     * The priority of the annotated service.
+     *
+     * @return the priority, higher values take precedence.
+     */
+    int value();
+}
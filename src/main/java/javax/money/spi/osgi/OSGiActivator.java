@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.osgi;
+
+import javax.money.spi.Bootstrap;
+import javax.money.spi.ServiceProvider;
+
+import org.osgi.framework.BundleActivator;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Activator of the API bundle, which installs an {@link OSGiServiceProvider}, so the monetary services are
+ * looked up in the OSGi service registry, in addition to the {@code META-INF/services} registrations.
+ * <p>
+ * The provider is only installed, if the framework property {@value #ENABLED_PROPERTY} is set to {@code true},
+ * so a {@link ServiceProvider} configured by the application is not replaced unexpectedly. When the bundle is
+ * stopped, the provider in use before is restored, unless another provider was installed meanwhile.
+ *
+ * @author Anatole Tresch
+ */
+public class OSGiActivator implements BundleActivator {
+    /**
+     * The framework property enabling the {@link OSGiServiceProvider}.
+     */
+    public static final String ENABLED_PROPERTY = "javax.money.osgi.enabled";
+
+    private OSGiServiceProvider serviceProvider;
+    /**
+     * The provider replaced on start, or {@code null}, if none was initialized.
+     */
+    private ServiceProvider prevServiceProvider;
+
+    @Override
+    public void start(BundleContext context) {
+        if (!Boolean.parseBoolean(context.getProperty(ENABLED_PROPERTY))) {
+            return;
+        }
+        serviceProvider = new OSGiServiceProvider(context);
+        prevServiceProvider = Bootstrap.init(serviceProvider);
+    }
+
+    @Override
+    public void stop(BundleContext context) {
+        if (serviceProvider == null) {
+            return;
+        }
+        serviceProvider.close();
+        Bootstrap.replace(serviceProvider, prevServiceProvider);
+        serviceProvider = null;
+        prevServiceProvider = null;
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.osgi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.money.spi.Bootstrap;
+import javax.money.spi.IndexedServiceProvider;
+import javax.money.spi.ServiceProvider;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+
+/**
+ * {@link ServiceProvider} implementation that looks up services in the OSGi service registry. Services are
+ * ordered by their {@code service.ranking}, services with the same ranking by their registration order.
+ * <p>
+ * The services of a fallback provider, by default the {@code META-INF/services} registrations, are added after the
+ * OSGi services, so implementations not registering OSGi services, such as libraries deployed on the class path,
+ * remain visible. Fallback services of the same class as an OSGi service are skipped.
+ * <p>
+ * Each service type is tracked by a {@link ServiceTracker} opened on first access. Whenever services are
+ * registered, modified or unregistered, a new immutable snapshot of the services is published and
+ * {@link Bootstrap#invalidate(ServiceProvider)} is called, so lookups never lock while bundles come and go.
+ * <p>
+ * This provider is installed by the {@link OSGiActivator} of the API bundle, if enabled by the framework
+ * property {@value OSGiActivator#ENABLED_PROPERTY}.
+ *
+ * @author Anatole Tresch
+ */
+public class OSGiServiceProvider implements ServiceProvider {
+    /**
+     * The context of the API bundle.
+     */
+    private final BundleContext context;
+    /**
+     * The provider whose services are added after the OSGi services.
+     */
+    private final ServiceProvider fallback;
+    /**
+     * The trackers opened so far, per service type.
+     */
+    private final ConcurrentHashMap<Class<?>, TypeTracker<?>> trackers = new ConcurrentHashMap<>();
+    /**
+     * Flag set by {@link #close()}.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new provider, falling back to the {@code META-INF/services} registrations.
+     *
+     * @param context the bundle context used for looking up services, not null.
+     */
+    public OSGiServiceProvider(BundleContext context) {
+        this(context, new IndexedServiceProvider());
+    }
+
+    /**
+     * Creates a new provider.
+     *
+     * @param context  the bundle context used for looking up services, not null.
+     * @param fallback the provider whose services are added after the OSGi services, not null.
+     */
+    public OSGiServiceProvider(BundleContext context, ServiceProvider fallback) {
+        this.context = Objects.requireNonNull(context);
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    @Override
+    public int getPriority() {
+        return 20;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getServices(Class<T> serviceType) {
+        if (closed) {
+            return Collections.emptyList();
+        }
+        TypeTracker<T> tracker = (TypeTracker<T>) trackers.get(serviceType);
+        if (tracker == null) {
+            TypeTracker<T> newTracker = new TypeTracker<>(serviceType);
+            tracker = (TypeTracker<T>) trackers.putIfAbsent(serviceType, newTracker);
+            if (tracker == null) {
+                tracker = newTracker;
+            }
+        }
+        return merge(tracker.getServices(), getFallbackServices(serviceType));
+    }
+
+    @Override
+    public <T> T getService(Class<T> serviceType) {
+        List<T> services = getServices(serviceType);
+        if (services.isEmpty()) {
+            return null;
+        }
+        return services.get(0);
+    }
+
+    /**
+     * Access the services of the fallback provider.
+     *
+     * @param serviceType the service type, not null.
+     * @param <T>         the service type.
+     * @return the services, or an empty list, if loading them failed.
+     */
+    private <T> List<T> getFallbackServices(Class<T> serviceType) {
+        try {
+            return fallback.getServices(serviceType);
+        } catch (Exception | ServiceConfigurationError e) {
+            Logger.getLogger(OSGiServiceProvider.class.getName()).log(Level.WARNING,
+                    "Failed to load fallback services of type " + serviceType.getName(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Merges the OSGi services with the services of the fallback provider.
+     *
+     * @param services         the OSGi services, in ranking order, not null.
+     * @param fallbackServices the services of the fallback provider, not null.
+     * @param <T>              the service type.
+     * @return the OSGi services, followed by the fallback services of other classes.
+     */
+    private static <T> List<T> merge(List<T> services, List<T> fallbackServices) {
+        if (fallbackServices.isEmpty()) {
+            return services;
+        }
+        if (services.isEmpty()) {
+            return fallbackServices;
+        }
+        Set<Class<?>> types = new HashSet<>();
+        List<T> result = new ArrayList<>(services);
+        for (T service : services) {
+            types.add(service.getClass());
+        }
+        for (T service : fallbackServices) {
+            if (!types.contains(service.getClass())) {
+                result.add(service);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Closes all trackers and releases the services tracked. Afterwards this provider returns no services.
+     */
+    public void close() {
+        closed = true;
+        for (TypeTracker<?> tracker : trackers.values()) {
+            tracker.close();
+        }
+        trackers.clear();
+    }
+
+    /**
+     * Tracks the services of a single type and publishes them as immutable snapshot in ranking order.
+     *
+     * @param <T> the service type.
+     */
+    private final class TypeTracker<T> implements ServiceTrackerCustomizer<Object, Object> {
+        private final Class<T> serviceType;
+        private final ServiceTracker<Object, Object> tracker;
+        /**
+         * The services tracked, guarded by this instance.
+         */
+        private final Map<ServiceReference<Object>, T> tracked = new LinkedHashMap<>();
+        private volatile List<T> services = Collections.emptyList();
+        private volatile boolean opened;
+
+        TypeTracker(Class<T> serviceType) {
+            this.serviceType = serviceType;
+            this.tracker = new ServiceTracker<>(context, serviceType.getName(), this);
+        }
+
+        /**
+         * Access the current snapshot, opening the tracker on first access.
+         *
+         * @return the services in ranking order, never null.
+         */
+        List<T> getServices() {
+            if (!opened) {
+                synchronized (this) {
+                    if (!opened) {
+                        tracker.open();
+                        opened = true;
+                    }
+                }
+            }
+            return services;
+        }
+
+        void close() {
+            tracker.close();
+        }
+
+        @Override
+        public Object addingService(ServiceReference<Object> reference) {
+            Object service = context.getService(reference);
+            if (!serviceType.isInstance(service)) {
+                if (service != null) {
+                    context.ungetService(reference);
+                }
+                return null;
+            }
+            synchronized (this) {
+                tracked.put(reference, serviceType.cast(service));
+                publish();
+            }
+            servicesChanged();
+            return service;
+        }
+
+        @Override
+        public void modifiedService(ServiceReference<Object> reference, Object service) {
+            synchronized (this) {
+                publish();
+            }
+            servicesChanged();
+        }
+
+        @Override
+        public void removedService(ServiceReference<Object> reference, Object service) {
+            synchronized (this) {
+                tracked.remove(reference);
+                publish();
+            }
+            context.ungetService(reference);
+            servicesChanged();
+        }
+
+        /**
+         * Publishes a new snapshot of the services tracked, the caller must hold the lock of this instance.
+         */
+        private void publish() {
+            List<ServiceReference<Object>> references = new ArrayList<>(tracked.keySet());
+            Collections.sort(references, Collections.<ServiceReference<Object>>reverseOrder());
+            Object[] snapshot = new Object[references.size()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = tracked.get(references.get(i));
+            }
+            @SuppressWarnings("unchecked")
+            List<T> newServices = (List<T>) Collections.unmodifiableList(Arrays.asList(snapshot));
+            services = newServices;
+        }
+
+        /**
+         * Discards the snapshots cached by {@link Bootstrap}, unless the tracker is being opened, in which
+         * case the caller receives the new snapshot anyway.
+         */
+        private void servicesChanged() {
+            if (opened) {
+                Bootstrap.invalidate(OSGiServiceProvider.this);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor writing the service index read by {@link javax.money.spi.IndexedServiceProvider}. Every
+ * public, concrete class with a public no-arg constructor that implements an interface of the
+ * {@code javax.money.spi} or {@code javax.money.convert} packages, such as
+ * {@link javax.money.convert.ExchangeRateProvider}, is listed, if it is either registered in the corresponding
+ * {@code META-INF/services} file of the compiled module, or annotated with
+ * {@link javax.money.spi.ServicePriority}. Classes merely implementing a service interface are not listed.
+ * <p>
+ * The index written is merged with the index already present in the class output, so incremental
+ * compilations, which only pass the changed classes to the processor, keep the entries of the classes not
+ * recompiled. Entries of classes no longer existing are dropped.
+ * <p>
+ * The processor is not registered automatically, enable it by passing
+ * {@code -processor javax.money.spi.processor.ServiceIndexProcessor} to {@code javac}, or by adding the
+ * {@code processor} artifact to the annotation processor path of the build.
+ *
+ * @author Anatole Tresch
+ */
+@SupportedAnnotationTypes("*")
+public class ServiceIndexProcessor extends AbstractProcessor {
+    /**
+     * The packages containing the service types indexed.
+     */
+    private static final Set<String> SERVICE_PACKAGES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("javax.money.spi", "javax.money.convert")));
+    /**
+     * The annotation marking a class as service, even if it is not registered.
+     */
+    private static final String SERVICE_ANNOTATION = "javax.money.spi.ServicePriority";
+    /**
+     * The prefix of the service registration resources.
+     */
+    private static final String SERVICES_PREFIX = "META-INF/services/";
+    /**
+     * The implementation types found, per service type, accumulated over all rounds.
+     */
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    /**
+     * The implementation types processed in this compilation, whether indexed or not.
+     */
+    private final Set<String> processed = new HashSet<>();
+    /**
+     * The registered implementation types, per service type, read lazily.
+     */
+    private final Map<String, Set<String>> registrations = new HashMap<>();
+    /**
+     * The entries of the index already present in the class output, read in the first round.
+     */
+    private Map<String, Set<String>> existingIndex;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (existingIndex == null) {
+            existingIndex = readExistingIndex();
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collect(type);
+        }
+        if (roundEnv.processingOver()) {
+            boolean existing = !existingIndex.isEmpty();
+            mergeExistingIndex();
+            if (existing || !index.isEmpty()) {
+                writeIndex();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given type, and its nested types, to the index if they are services.
+     *
+     * @param type the type, not null.
+     */
+    private void collect(TypeElement type) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (nested.getModifiers().contains(Modifier.STATIC)) {
+                collect(nested);
+            }
+        }
+        String implementation = processingEnv.getElementUtils().getBinaryName(type).toString();
+        processed.add(implementation);
+        if (!isInstantiable(type)) {
+            return;
+        }
+        Set<String> serviceTypes = new TreeSet<>();
+        collectServiceTypes(type.asType(), serviceTypes);
+        boolean annotated = isAnnotated(type);
+        for (String serviceType : serviceTypes) {
+            if (annotated || getRegistrations(serviceType).contains(implementation)) {
+                addEntry(index, serviceType, implementation);
+            }
+        }
+    }
+
+    /**
+     * Collects the service interfaces implemented by the given type, including inherited ones.
+     *
+     * @param type         the type, not null.
+     * @param serviceTypes the service type names found so far, not null.
+     */
+    private void collectServiceTypes(TypeMirror type, Set<String> serviceTypes) {
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            TypeElement element = (TypeElement) ((DeclaredType) superType).asElement();
+            if (element.getKind() == ElementKind.INTERFACE && SERVICE_PACKAGES
+                    .contains(processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString())) {
+                serviceTypes.add(element.getQualifiedName().toString());
+            }
+            collectServiceTypes(superType, serviceTypes);
+        }
+    }
+
+    /**
+     * Checks if the given type can be instantiated by the service provider.
+     *
+     * @param type the type, not null.
+     * @return true, if the type is a public concrete class with a public no-arg constructor.
+     */
+    private static boolean isInstantiable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !type.getModifiers().contains(Modifier.PUBLIC)
+                || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given type is annotated with {@link javax.money.spi.ServicePriority}.
+     *
+     * @param type the type, not null.
+     * @return true, if the type is annotated.
+     */
+    private static boolean isAnnotated(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (SERVICE_ANNOTATION.equals(((TypeElement) annotation.getAnnotationType().asElement())
+                    .getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Access the implementation types registered for the given service type in the
+     * {@code META-INF/services} file of the class output or the source path.
+     *
+     * @param serviceType the service type name, not null.
+     * @return the implementation type names registered, never null.
+     */
+    private Set<String> getRegistrations(String serviceType) {
+        Set<String> implementations = registrations.get(serviceType);
+        if (implementations == null) {
+            implementations = new HashSet<>();
+            readLines(StandardLocation.CLASS_OUTPUT, SERVICES_PREFIX + serviceType, implementations);
+            readLines(StandardLocation.SOURCE_PATH, SERVICES_PREFIX + serviceType, implementations);
+            registrations.put(serviceType, implementations);
+        }
+        return implementations;
+    }
+
+    /**
+     * Reads the index already present in the class output, if any.
+     *
+     * @return the entries read, per service type, never null.
+     */
+    private Map<String, Set<String>> readExistingIndex() {
+        Set<String> lines = new TreeSet<>();
+        readLines(StandardLocation.CLASS_OUTPUT, javax.money.spi.IndexedServiceProvider.INDEX_RESOURCE, lines);
+        Map<String, Set<String>> entries = new TreeMap<>();
+        for (String line : lines) {
+            int sep = line.indexOf('=');
+            if (sep > 0) {
+                addEntry(entries, line.substring(0, sep).trim(), line.substring(sep + 1).trim());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Adds the entries of the existing index for all implementation types not processed in this
+     * compilation, which still exist.
+     */
+    private void mergeExistingIndex() {
+        for (Map.Entry<String, Set<String>> en : existingIndex.entrySet()) {
+            for (String implementation : en.getValue()) {
+                if (!processed.contains(implementation) && processingEnv.getElementUtils()
+                        .getTypeElement(implementation.replace('$', '.')) != null) {
+                    addEntry(index, en.getKey(), implementation);
+                }
+            }
+        }
+        existingIndex = Collections.emptyMap();
+    }
+
+    /**
+     * Reads the non-comment lines of the given resource, if it exists.
+     *
+     * @param location the location, not null.
+     * @param resource the resource name, not null.
+     * @param lines    the lines read so far, not null.
+     */
+    private void readLines(StandardLocation location, String resource, Set<String> lines) {
+        try {
+            FileObject file = processingEnv.getFiler().getResource(location, "", resource);
+            try (Reader in = file.openReader(true); BufferedReader reader = new BufferedReader(in)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    if (comment >= 0) {
+                        line = line.substring(0, comment);
+                    }
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        lines.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // not existing, or location not available
+        }
+    }
+
+    /**
+     * Adds an implementation type to the given entries.
+     *
+     * @param entries        the entries, not null.
+     * @param serviceType    the service type name, not null.
+     * @param implementation the implementation type name, not null.
+     */
+    private static void addEntry(Map<String, Set<String>> entries, String serviceType, String implementation) {
+        Set<String> implementations = entries.get(serviceType);
+        if (implementations == null) {
+            implementations = new TreeSet<>();
+            entries.put(serviceType, implementations);
+        }
+        implementations.add(implementation);
+    }
+
+    /**
+     * Writes the index collected into the class output.
+     */
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    javax.money.spi.IndexedServiceProvider.INDEX_RESOURCE, new Element[0]);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + ServiceIndexProcessor.class.getName() + '\n');
+                for (Map.Entry<String, Set<String>> en : index.entrySet()) {
+                    for (String implementation : en.getValue()) {
+                        writer.write(en.getKey() + '=' + implementation + '\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write service index: " + e.getMessage());
+        }
+    }
+
+}
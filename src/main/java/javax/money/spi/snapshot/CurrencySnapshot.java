@@ -0,0 +1,324 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.money.CurrencyContext;
+import javax.money.CurrencyContextBuilder;
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+/**
+ * Binary snapshot of a resolved currency universe, holding the code, numeric code, default fraction digits,
+ * countries and {@link CurrencyContext} of each currency. A snapshot is written once, e.g. at build time by
+ * running {@link #main(String[])}, and loaded by the {@link SnapshotCurrencyProvider} at startup, so the
+ * expensive initialization of the original providers is skipped.
+ * <p>
+ * Loading reads the whole file in one go and decodes all currencies eagerly. The file is not mapped into
+ * memory: a snapshot of all ISO currencies is only a few kilobytes, and the provider keeps every currency on
+ * the heap anyway, so mapping would only add the cost of setting up and tearing down the mapping.
+ * <p>
+ * The format is a sequence of big endian values: the magic number {@code 0x4A4D4353}, the format version,
+ * the table of the distinct currency contexts and finally the currencies, each referring to its context by
+ * index. Strings are stored as UTF-8 bytes prefixed by their length. Context attributes must be of type
+ * {@link String}, {@link Integer}, {@link Long} or {@link Boolean}, writing other attributes fails.
+ *
+ * @author Anatole Tresch
+ */
+public final class CurrencySnapshot {
+    /**
+     * The magic number starting each snapshot file.
+     */
+    private static final int MAGIC = 0x4A4D4353;
+    /**
+     * The format version written.
+     */
+    private static final short VERSION = 1;
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_INT = 'I';
+    private static final byte TYPE_LONG = 'J';
+    private static final byte TYPE_BOOLEAN = 'Z';
+
+    private final List<CurrencyUnit> currencies;
+
+    private CurrencySnapshot(List<CurrencyUnit> currencies) {
+        this.currencies = currencies;
+    }
+
+    /**
+     * Access the currencies contained.
+     *
+     * @return the currencies, never null.
+     */
+    List<CurrencyUnit> getCurrencies() {
+        return currencies;
+    }
+
+    /**
+     * Writes a snapshot of the currencies currently provided by {@link Monetary}. The countries of each
+     * currency are evaluated by querying the currencies of all ISO countries.
+     *
+     * @param file      the target file, not null.
+     * @param providers the (optional) providers to be considered, by default the default provider chain is used.
+     * @throws IOException              if the snapshot could not be written.
+     * @throws IllegalArgumentException if a currency context has an attribute of an unsupported type.
+     */
+    public static void write(Path file, String... providers) throws IOException {
+        Map<CurrencyUnit, Set<String>> currencies = new LinkedHashMap<>();
+        for (CurrencyUnit currency : Monetary.getCurrencies(providers)) {
+            currencies.put(currency, new LinkedHashSet<String>());
+        }
+        for (String country : Locale.getISOCountries()) {
+            for (CurrencyUnit currency : Monetary.getCurrencies(new Locale("", country), providers)) {
+                Set<String> countries = currencies.get(currency);
+                if (countries == null) {
+                    countries = new LinkedHashSet<>();
+                    currencies.put(currency, countries);
+                }
+                countries.add(country);
+            }
+        }
+        write(file, currencies);
+    }
+
+    /**
+     * Writes a snapshot of the given currencies.
+     *
+     * @param file       the target file, not null.
+     * @param currencies the currencies, with the ISO country codes using them, not null.
+     * @throws IOException              if the snapshot could not be written.
+     * @throws IllegalArgumentException if a currency context has an attribute of an unsupported type.
+     */
+    public static void write(Path file, Map<CurrencyUnit, ? extends Collection<String>> currencies)
+            throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out, currencies);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given currencies.
+     *
+     * @param out        the target stream, not null, not closed by this method.
+     * @param currencies the currencies, with the ISO country codes using them, not null.
+     * @throws IOException              if the snapshot could not be written.
+     * @throws IllegalArgumentException if a currency context has an attribute of an unsupported type.
+     */
+    public static void write(OutputStream out, Map<CurrencyUnit, ? extends Collection<String>> currencies)
+            throws IOException {
+        List<CurrencyContext> contexts = new ArrayList<>();
+        Map<CurrencyContext, Integer> contextIndexes = new HashMap<>();
+        for (CurrencyUnit currency : currencies.keySet()) {
+            if (!contextIndexes.containsKey(currency.getContext())) {
+                checkContext(currency);
+                contextIndexes.put(currency.getContext(), contexts.size());
+                contexts.add(currency.getContext());
+            }
+        }
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(contexts.size());
+        for (CurrencyContext context : contexts) {
+            writeContext(data, context);
+        }
+        data.writeInt(currencies.size());
+        for (Map.Entry<CurrencyUnit, ? extends Collection<String>> en : currencies.entrySet()) {
+            CurrencyUnit currency = en.getKey();
+            writeString(data, currency.getCurrencyCode());
+            data.writeInt(currency.getNumericCode());
+            data.writeInt(currency.getDefaultFractionDigits());
+            data.writeInt(contextIndexes.get(currency.getContext()));
+            data.writeInt(en.getValue().size());
+            for (String country : en.getValue()) {
+                writeString(data, country);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Checks, if all attributes of the context of the given currency can be written.
+     *
+     * @param currency the currency, not null.
+     * @throws IllegalArgumentException if an attribute has an unsupported type.
+     */
+    private static void checkContext(CurrencyUnit currency) {
+        CurrencyContext context = currency.getContext();
+        for (String key : context.getKeys(Object.class)) {
+            Class<?> type = context.getType(key);
+            if (!String.class.equals(type) && !Integer.class.equals(type) && !Long.class.equals(type)
+                    && !Boolean.class.equals(type)) {
+                throw new IllegalArgumentException("Unsupported type " + type.getName() + " of context attribute '"
+                        + key + "' of currency " + currency.getCurrencyCode());
+            }
+        }
+    }
+
+    private static void writeContext(DataOutputStream data, CurrencyContext context) throws IOException {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Class<?> type : new Class<?>[]{String.class, Integer.class, Long.class, Boolean.class}) {
+            for (String key : context.getKeys(type)) {
+                attributes.put(key, context.get(key, type));
+            }
+        }
+        writeString(data, context.getProviderName());
+        data.writeInt(attributes.size());
+        for (Map.Entry<String, Object> en : attributes.entrySet()) {
+            writeString(data, en.getKey());
+            Object value = en.getValue();
+            if (value instanceof Integer) {
+                data.writeByte(TYPE_INT);
+                data.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                data.writeByte(TYPE_LONG);
+                data.writeLong((Long) value);
+            } else if (value instanceof Boolean) {
+                data.writeByte(TYPE_BOOLEAN);
+                data.writeBoolean((Boolean) value);
+            } else {
+                data.writeByte(TYPE_STRING);
+                writeString(data, (String) value);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Loads a snapshot by reading the given file.
+     *
+     * @param file the snapshot file, not null.
+     * @return the snapshot loaded, never null.
+     * @throws IOException if the file could not be read or is not a valid snapshot.
+     */
+    static CurrencySnapshot read(Path file) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Reads a snapshot from the given buffer.
+     *
+     * @param buffer the buffer, positioned at the start of the snapshot, not null.
+     * @return the snapshot read, never null.
+     * @throws IOException if the buffer does not contain a valid snapshot.
+     */
+    static CurrencySnapshot read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a currency snapshot.");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported currency snapshot version: " + version);
+            }
+            CurrencyContext[] contexts = new CurrencyContext[buffer.getInt()];
+            for (int i = 0; i < contexts.length; i++) {
+                contexts[i] = readContext(buffer);
+            }
+            CurrencyUnit[] currencies = new CurrencyUnit[buffer.getInt()];
+            for (int i = 0; i < currencies.length; i++) {
+                String code = readString(buffer);
+                int numericCode = buffer.getInt();
+                int fractionDigits = buffer.getInt();
+                CurrencyContext context = contexts[buffer.getInt()];
+                String[] countries = new String[buffer.getInt()];
+                for (int c = 0; c < countries.length; c++) {
+                    countries[c] = readString(buffer);
+                }
+                currencies[i] = new SnapshotCurrency(code, numericCode, fractionDigits, context, countries);
+            }
+            return new CurrencySnapshot(Collections.unmodifiableList(Arrays.asList(currencies)));
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid currency snapshot.", e);
+        }
+    }
+
+    private static CurrencyContext readContext(ByteBuffer buffer) throws IOException {
+        CurrencyContextBuilder builder = CurrencyContextBuilder.of(readString(buffer));
+        int attributes = buffer.getInt();
+        for (int i = 0; i < attributes; i++) {
+            String key = readString(buffer);
+            byte type = buffer.get();
+            switch (type) {
+                case TYPE_STRING:
+                    builder.set(key, readString(buffer));
+                    break;
+                case TYPE_INT:
+                    builder.set(key, buffer.getInt());
+                    break;
+                case TYPE_LONG:
+                    builder.set(key, buffer.getLong());
+                    break;
+                case TYPE_BOOLEAN:
+                    builder.set(key, buffer.get() != 0);
+                    break;
+                default:
+                    throw new IOException("Invalid attribute type in currency snapshot: " + type);
+            }
+        }
+        return builder.build();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a snapshot of the currencies currently available.
+     *
+     * @param args the target file, followed by the (optional) names of the providers to be considered.
+     * @throws IOException              if the snapshot could not be written.
+     * @throws IllegalArgumentException if no target file is passed, or a currency context has an attribute of
+     *                                  an unsupported type.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: CurrencySnapshot <file> [provider...]");
+        }
+        String[] providers = new String[args.length - 1];
+        System.arraycopy(args, 1, providers, 0, providers.length);
+        write(Paths.get(args[0]), providers);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.snapshot;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.money.CurrencyContext;
+import javax.money.CurrencyUnit;
+
+/**
+ * {@link CurrencyUnit} read from a {@link CurrencySnapshot}.
+ *
+ * @author Anatole Tresch
+ */
+final class SnapshotCurrency implements CurrencyUnit, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String currencyCode;
+    private final int numericCode;
+    private final int defaultFractionDigits;
+    private final CurrencyContext context;
+    private final String[] countries;
+
+    SnapshotCurrency(String currencyCode, int numericCode, int defaultFractionDigits, CurrencyContext context,
+                     String[] countries) {
+        this.currencyCode = Objects.requireNonNull(currencyCode);
+        this.numericCode = numericCode;
+        this.defaultFractionDigits = defaultFractionDigits;
+        this.context = Objects.requireNonNull(context);
+        this.countries = countries;
+    }
+
+    @Override
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    @Override
+    public int getNumericCode() {
+        return numericCode;
+    }
+
+    @Override
+    public int getDefaultFractionDigits() {
+        return defaultFractionDigits;
+    }
+
+    @Override
+    public CurrencyContext getContext() {
+        return context;
+    }
+
+    /**
+     * Access the ISO country codes using this currency.
+     *
+     * @return the country codes, never null.
+     */
+    String[] getCountries() {
+        return countries.clone();
+    }
+
+    @Override
+    public int compareTo(CurrencyUnit o) {
+        Objects.requireNonNull(o);
+        return currencyCode.compareTo(o.getCurrencyCode());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currencyCode, context);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof SnapshotCurrency) {
+            SnapshotCurrency other = (SnapshotCurrency) obj;
+            return currencyCode.equals(other.currencyCode) && context.equals(other.context);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return currencyCode;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.money.CurrencyQuery;
+import javax.money.CurrencyUnit;
+import javax.money.spi.CurrencyProviderSpi;
+
+/**
+ * {@link CurrencyProviderSpi} serving the currencies of a {@link CurrencySnapshot}. The snapshot file is
+ * read once, when the provider is created, instead of initializing the original providers.
+ * <p>
+ * The provider is not registered by default. To use it, register it in
+ * {@code META-INF/services/javax.money.spi.CurrencyProviderSpi} and set the system property
+ * {@code javax.money.currencySnapshot} to the path of the snapshot file. Usually the providers the snapshot was
+ * written from are not registered at the same time.
+ *
+ * @author Anatole Tresch
+ */
+public class SnapshotCurrencyProvider implements CurrencyProviderSpi {
+    /**
+     * The system property defining the snapshot file loaded by the default constructor.
+     */
+    public static final String SNAPSHOT_PROPERTY = "javax.money.currencySnapshot";
+
+    private final List<CurrencyUnit> currencies;
+    private final Map<String, CurrencyUnit> currenciesByCode = new HashMap<>();
+    private final Map<Integer, CurrencyUnit> currenciesByNumericCode = new HashMap<>();
+    private final Map<String, Set<CurrencyUnit>> currenciesByCountry = new HashMap<>();
+
+    /**
+     * Creates a provider serving the snapshot defined by the system property {@code javax.money.currencySnapshot}.
+     * If the property is not set, or the snapshot cannot be read, the provider serves no currencies.
+     */
+    public SnapshotCurrencyProvider() {
+        this(loadSnapshot(System.getProperty(SNAPSHOT_PROPERTY)));
+    }
+
+    /**
+     * Creates a provider serving the given snapshot file.
+     *
+     * @param file the snapshot file, not null.
+     * @throws IOException if the snapshot cannot be read.
+     */
+    public SnapshotCurrencyProvider(Path file) throws IOException {
+        this(CurrencySnapshot.read(file).getCurrencies());
+    }
+
+    private SnapshotCurrencyProvider(List<CurrencyUnit> currencies) {
+        this.currencies = currencies;
+        for (CurrencyUnit currency : currencies) {
+            currenciesByCode.put(currency.getCurrencyCode(), currency);
+            if (currency.getNumericCode() >= 0) {
+                currenciesByNumericCode.put(currency.getNumericCode(), currency);
+            }
+            if (currency instanceof SnapshotCurrency) {
+                for (String country : ((SnapshotCurrency) currency).getCountries()) {
+                    Set<CurrencyUnit> countryCurrencies = currenciesByCountry.get(country);
+                    if (countryCurrencies == null) {
+                        countryCurrencies = new LinkedHashSet<>();
+                        currenciesByCountry.put(country, countryCurrencies);
+                    }
+                    countryCurrencies.add(currency);
+                }
+            }
+        }
+    }
+
+    private static List<CurrencyUnit> loadSnapshot(String file) {
+        if (file == null) {
+            Logger.getLogger(SnapshotCurrencyProvider.class.getName())
+                    .warning("No currency snapshot configured, set " + SNAPSHOT_PROPERTY);
+            return Collections.emptyList();
+        }
+        try {
+            return CurrencySnapshot.read(Paths.get(file)).getCurrencies();
+        } catch (IOException e) {
+            Logger.getLogger(SnapshotCurrencyProvider.class.getName())
+                    .log(Level.SEVERE, "Failed to load currency snapshot: " + file, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public String getProviderName() {
+        return "snapshot";
+    }
+
+    @Override
+    public boolean isCurrencyAvailable(CurrencyQuery query) {
+        return !getCurrencies(query).isEmpty();
+    }
+
+    @Override
+    public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+        if (query.getCurrencyCodes().isEmpty() && query.getNumericCodes().isEmpty()
+                && query.getCountries().isEmpty()) {
+            return new LinkedHashSet<>(currencies);
+        }
+        Set<CurrencyUnit> result = new LinkedHashSet<>();
+        for (String code : query.getCurrencyCodes()) {
+            addIfFound(result, currenciesByCode.get(code));
+        }
+        for (Integer numericCode : query.getNumericCodes()) {
+            addIfFound(result, currenciesByNumericCode.get(numericCode));
+        }
+        for (Locale country : query.getCountries()) {
+            Set<CurrencyUnit> countryCurrencies = currenciesByCountry.get(country.getCountry());
+            if (countryCurrencies != null) {
+                result.addAll(countryCurrencies);
+            }
+        }
+        return result;
+    }
+
+    private static void addIfFound(Set<CurrencyUnit> result, CurrencyUnit currency) {
+        if (currency != null) {
+            result.add(currency);
+        }
+    }
+
+}
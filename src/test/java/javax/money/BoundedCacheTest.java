@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testPut_KeepsExistingValue() {
+        BoundedCache<String, Object> cache = new BoundedCache<>(4);
+        Object first = new Object();
+        assertSame(cache.put("a", first), first);
+        assertSame(cache.put("a", new Object()), first);
+        assertSame(cache.get("a"), first);
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void testPut_EvictsRarelyUsed() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        cache.put(4, 4);
+        for (int i = 1; i < 5; i++) {
+            assertEquals(cache.get(i), Integer.valueOf(i));
+        }
+        cache.put(5, 5);
+        assertEquals(cache.size(), 4);
+        assertEquals(cache.get(5), Integer.valueOf(5));
+    }
+
+    @Test
+    public void testSize_Bounded() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(16);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            cache.get(i / 2);
+        }
+        assertEquals(cache.size(), 16);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCreate_InvalidSize() {
+        new BoundedCache<String, String>(0);
+    }
+}
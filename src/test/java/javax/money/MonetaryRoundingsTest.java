@@ -18,12 +18,22 @@ package javax.money;
 
 import org.testng.annotations.Test;
 
+import javax.money.spi.RoundingProviderSpi;
+import javax.money.spi.ServicePriority;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class MonetaryRoundingsTest {
@@ -55,6 +65,56 @@ public class MonetaryRoundingsTest {
         assertNotNull(op);
     }
 
+    @Test
+    public void testMonetaryRoundingsGetDefaultRounding_Apply() {
+        MonetaryOperator op = Monetary.getDefaultRounding();
+        MonetaryAmount amount = new DummyAmountBuilder().create();
+        assertNotNull(op.apply(amount));
+        assertNotNull(op.apply(amount));
+    }
+
+    @Test
+    public void testRoundingMemo_FractionDigits() {
+        DefaultMonetaryRoundingsSingletonSpi.RoundingMemo memo = new DefaultMonetaryRoundingsSingletonSpi.RoundingMemo(
+                Collections.<RoundingProviderSpi>emptyList());
+        MonetaryRounding rounding = Monetary.getRounding(RoundingQueryBuilder.of().setRoundingName("custom1").build());
+        CurrencyUnit twoDigits = new CodeCurrency("MEMO", 2);
+        memo.put(twoDigits, rounding);
+        assertSame(memo.get(twoDigits), rounding);
+        assertSame(memo.get(new CodeCurrency("MEMO", 2)), rounding);
+        assertNull(memo.get(new CodeCurrency("MEMO", 3)));
+    }
+
+    @Test
+    public void testRoundingMemo_Bounded() {
+        DefaultMonetaryRoundingsSingletonSpi.RoundingMemo memo = new DefaultMonetaryRoundingsSingletonSpi.RoundingMemo(
+                Collections.<RoundingProviderSpi>emptyList());
+        MonetaryRounding rounding = Monetary.getRounding(RoundingQueryBuilder.of().setRoundingName("custom1").build());
+        for (int i = 0; i < DefaultMonetaryRoundingsSingletonSpi.RoundingMemo.MAX_CURRENCIES; i++) {
+            memo.put(new CodeCurrency("C" + i, 2), rounding);
+        }
+        CurrencyUnit rejected = new CodeCurrency("REJECTED", 2);
+        memo.put(rejected, rounding);
+        assertNull(memo.get(rejected));
+        assertSame(memo.get(new CodeCurrency("C0", 2)), rounding);
+        CurrencyUnit threeDigits = new CodeCurrency("C0", 3);
+        memo.put(threeDigits, rounding);
+        assertSame(memo.get(threeDigits), rounding);
+    }
+
+    @Test
+    public void testGetRounding_QueryCached() {
+        DefaultMonetaryRoundingsSingletonSpi spi = new DefaultMonetaryRoundingsSingletonSpi();
+        MonetaryRounding rounding = spi.getRounding(RoundingQueryBuilder.of().setRoundingName("custom1").build());
+        assertNotNull(rounding);
+        assertSame(spi.getRounding(RoundingQueryBuilder.of().setRoundingName("custom1").build()), rounding);
+        assertEquals(spi.getCachedQueryCount(), 1);
+        RoundingQuery timed = RoundingQueryBuilder.of().setRoundingName("custom1")
+                .set(AbstractQuery.KEY_QUERY_TIMESTAMP, 1000L).build();
+        assertNotSame(spi.getRounding(timed), spi.getRounding(timed));
+        assertEquals(spi.getCachedQueryCount(), 1);
+    }
+
     @Test
     public void testMonetaryRoundingsGetRoundingWithId() {
         MonetaryOperator op = Monetary.getRounding("custom1");
@@ -88,6 +148,20 @@ public class MonetaryRoundingsTest {
         List<String> chain = Monetary.getDefaultRoundingProviderChain();
         assertNotNull(chain);
         assertFalse(chain.isEmpty());
+        assertSame(Monetary.getDefaultRoundingProviderChain(), chain);
+        assertEquals(chain.size(), Monetary.getRoundingProviderNames().size());
+    }
+
+    @Test
+    public void testSortProviderChain() {
+        Map<String, List<RoundingProviderSpi>> providers = new LinkedHashMap<>();
+        providers.put("b", Collections.<RoundingProviderSpi>singletonList(new NamedRoundingProvider("b")));
+        providers.put("c", Collections.<RoundingProviderSpi>singletonList(new NamedRoundingProvider("c")));
+        providers.put("a", Collections.<RoundingProviderSpi>singletonList(new NamedRoundingProvider("a")));
+        assertEquals(DefaultMonetaryRoundingsSingletonSpi.sortProviderChain(providers), Arrays.asList("a", "b", "c"));
+        providers.put("z", Collections.<RoundingProviderSpi>singletonList(new PriorityRoundingProvider("z")));
+        assertEquals(DefaultMonetaryRoundingsSingletonSpi.sortProviderChain(providers),
+                Arrays.asList("z", "a", "b", "c"));
     }
 
     @Test
@@ -97,10 +171,96 @@ public class MonetaryRoundingsTest {
         assertTrue(ids.size() == 2);
     }
 
+    @Test
+    public void testMonetaryRoundingsGetCustomRoundingIds_Providers() {
+        assertEquals(Monetary.getRoundingNames("TestRoundingProvider").size(), 2);
+        assertEquals(Monetary.getRoundingNames("TestRounding.*").size(), 2);
+        assertEquals(Monetary.getRoundingNames("TestRounding.*"), Monetary.getRoundingNames());
+        assertTrue(Monetary.getRoundingNames("[invalid").isEmpty());
+    }
+
     @Test
     public void testMonetaryRoundingsGetProviderNames() {
         Set<String> names = Monetary.getRoundingProviderNames();
         assertNotNull(names);
         assertTrue(names.size() == 1);
     }
+
+    public static class NamedRoundingProvider implements RoundingProviderSpi {
+        private final String name;
+
+        NamedRoundingProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public MonetaryRounding getRounding(RoundingQuery query) {
+            return null;
+        }
+
+        @Override
+        public Set<String> getRoundingNames() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+    }
+
+    @ServicePriority(10)
+    public static class PriorityRoundingProvider extends NamedRoundingProvider {
+        PriorityRoundingProvider(String name) {
+            super(name);
+        }
+    }
+
+    /**
+     * Currency equal to all currencies with the same code.
+     */
+    private static final class CodeCurrency implements CurrencyUnit {
+        private final String code;
+        private final int fractionDigits;
+
+        CodeCurrency(String code, int fractionDigits) {
+            this.code = code;
+            this.fractionDigits = fractionDigits;
+        }
+
+        @Override
+        public String getCurrencyCode() {
+            return code;
+        }
+
+        @Override
+        public int getNumericCode() {
+            return -1;
+        }
+
+        @Override
+        public int getDefaultFractionDigits() {
+            return fractionDigits;
+        }
+
+        @Override
+        public CurrencyContext getContext() {
+            return CurrencyContextBuilder.of("test").build();
+        }
+
+        @Override
+        public int compareTo(CurrencyUnit o) {
+            return code.compareTo(o.getCurrencyCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CodeCurrency && code.equals(((CodeCurrency) obj).code);
+        }
+
+        @Override
+        public int hashCode() {
+            return code.hashCode();
+        }
+    }
 }
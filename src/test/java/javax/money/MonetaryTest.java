@@ -18,10 +18,26 @@ package javax.money;
 
 import org.testng.annotations.Test;
 
+import javax.money.spi.Bootstrap;
+import javax.money.spi.CurrencyProviderListener;
+import javax.money.spi.CurrencyProviderSpi;
+import javax.money.spi.IndexedServiceProvider;
+import javax.money.spi.MutableCurrencies;
+import javax.money.spi.ReloadableCurrencyProviderSpi;
+import javax.money.spi.ServiceProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.*;
 
@@ -41,6 +57,299 @@ public class MonetaryTest {
         assertEquals(cur.getDefaultFractionDigits(), 2);
     }
 
+    @Test
+    public void testgetCurrencyString_Indexed() {
+        CurrencyUnit cur = Monetary.getCurrency("test1");
+        assertSame(Monetary.getCurrency("test1"), cur);
+        assertSame(Monetary.getCurrency("test1", "test"), Monetary.getCurrency("test1", "test"));
+        assertEquals(Monetary.getCurrency("test1", "test"), cur);
+    }
+
+    @Test
+    public void testgetCurrency_Interned() {
+        CurrencyUnit cur = Monetary.getCurrency("test1");
+        assertSame(Monetary.getCurrency(CurrencyQueryBuilder.of().setCurrencyCodes("test1").build()), cur);
+        assertSame(Monetary.getCurrency(1), cur);
+        int ordinal = Monetary.getCurrencyOrdinal(cur);
+        assertTrue(ordinal >= 0);
+        assertTrue(Monetary.getCurrencyOrdinal(Monetary.getCurrency("test2")) >= 0);
+        assertNotEquals(Monetary.getCurrencyOrdinal(Monetary.getCurrency("test2")), ordinal);
+    }
+
+    @Test
+    public void testgetCurrencyNumeric() {
+        CurrencyUnit cur = Monetary.getCurrency(1);
+        assertEquals(cur.getCurrencyCode(), "test1");
+        assertSame(Monetary.getCurrency(1), cur);
+    }
+
+    @Test(expectedExceptions = UnknownCurrencyException.class)
+    public void testgetCurrencyNumeric_NA() {
+        Monetary.getCurrency(999);
+    }
+
+    @Test(expectedExceptions = UnknownCurrencyException.class)
+    public void testgetCurrencyNumeric_OutOfRange() {
+        Monetary.getCurrency(1000);
+    }
+
+    @Test
+    public void testFindCurrency() {
+        assertSame(Monetary.findCurrency("test1"), Monetary.getCurrency("test1"));
+        assertNull(Monetary.findCurrency("testFindCurrency_NA"));
+        assertNull(Monetary.findCurrency("testFindCurrency_NA"));
+        assertFalse(Monetary.isCurrencyAvailable("testFindCurrency_NA"));
+        try {
+            Monetary.getCurrency("testFindCurrency_NA");
+            fail("UnknownCurrencyException expected.");
+        } catch (UnknownCurrencyException e) {
+            assertEquals(e.getCurrencyCode(), "testFindCurrency_NA");
+        }
+    }
+
+    @Test
+    public void testGetCurrencies_ProviderExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        spi.setProviderExecutor(executor, 10, TimeUnit.SECONDS);
+        try {
+            Collection<CurrencyUnit> curs = spi.getCurrencies(
+                    CurrencyQueryBuilder.of().setCurrencyCodes("test1", "test2").build());
+            assertEquals(curs.size(), 2);
+            assertTrue(curs.contains(spi.getCurrency("test1")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetCurrencies_ProviderTimeout() throws Exception {
+        final SlowCurrencyProvider slow = new SlowCurrencyProvider("slow", 10000L);
+        final List<CurrencyProviderSpi> providers = Arrays.<CurrencyProviderSpi>asList(
+                new SlowCurrencyProvider("fast1", 0L), slow, new SlowCurrencyProvider("fast2", 0L));
+        ServiceProvider prevProvider = Bootstrap.init(new IndexedServiceProvider() {
+            @Override
+            public <T> List<T> getServices(Class<T> serviceType) {
+                if (CurrencyProviderSpi.class.equals(serviceType)) {
+                    return List.class.cast(providers);
+                }
+                return super.getServices(serviceType);
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+            spi.setProviderExecutor(executor, 200, TimeUnit.MILLISECONDS);
+            long start = System.nanoTime();
+            List<CurrencyUnit> curs = new ArrayList<>(spi.getCurrencies(
+                    CurrencyQueryBuilder.of().setProviderNames("fast2", "slow", "fast1").build()));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000L);
+            assertEquals(curs.size(), 2);
+            assertEquals(curs.get(0).getCurrencyCode(), "fast2");
+            assertEquals(curs.get(1).getCurrencyCode(), "fast1");
+            assertTrue(slow.interrupted.await(5, TimeUnit.SECONDS), "Slow provider must be cancelled.");
+            assertEquals(spi.getCachedQueryCount(), 0);
+        } finally {
+            Bootstrap.init(prevProvider);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFindCurrencies() {
+        List<CurrencyUnit> curs = Monetary.findCurrencies(
+                Arrays.asList("test1", "testFindCurrencies_NA", "test2", "test1"));
+        assertEquals(curs.size(), 4);
+        assertSame(curs.get(0), Monetary.getCurrency("test1"));
+        assertNull(curs.get(1));
+        assertEquals(curs.get(2).getCurrencyCode(), "test2");
+        assertSame(curs.get(3), curs.get(0));
+        assertEquals(Monetary.findCurrencies(Arrays.asList("invalid")).get(0).getCurrencyCode(), "invalid2");
+    }
+
+    @Test
+    public void testFindCurrencies_SingleQuery() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        List<CurrencyUnit> curs = spi.findCurrencies(Arrays.asList("test1", "NA1", "NA2", "test2"));
+        assertEquals(curs.get(0).getCurrencyCode(), "test1");
+        assertNull(curs.get(1));
+        assertNull(curs.get(2));
+        assertEquals(curs.get(3).getCurrencyCode(), "test2");
+        assertNull(spi.findCurrency("NA1"));
+        assertFalse(spi.isCurrencyAvailable("NA2"));
+        assertSame(spi.findCurrency("test2"), curs.get(3));
+        assertEquals(spi.getCachedQueryCount(), 0);
+    }
+
+    @Test
+    public void testGetCurrencies_QueryCached() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        CurrencyQuery query = CurrencyQueryBuilder.of().setCurrencyCodes("test1", "test2")
+                .set("reportId", 42).build();
+        Set<CurrencyUnit> curs = spi.getCurrencies(query);
+        assertEquals(curs.size(), 2);
+        assertEquals(spi.getCachedQueryCount(), 1);
+        assertSame(spi.getCurrencies(CurrencyQueryBuilder.of().setCurrencyCodes("test1", "test2")
+                .set("reportId", 42).build()), curs);
+        assertEquals(spi.getCachedQueryCount(), 1);
+        try {
+            curs.clear();
+            fail("Cached currencies must be immutable.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetCurrency_Reloaded() {
+        TestReloadableCurrencyProvider provider = TestReloadableCurrencyProvider.getRegistered();
+        final List<CurrencyProviderSpi> changed = new CopyOnWriteArrayList<>();
+        CurrencyProviderListener listener = new CurrencyProviderListener() {
+            @Override
+            public void currenciesChanged(CurrencyProviderSpi spi) {
+                changed.add(spi);
+            }
+        };
+        ReloadableCurrencyProviderSpi.addListener(listener);
+        try {
+            provider.publish(Collections.singletonMap(
+                    new TestCurrency.Builder("RELOAD1").withDefaultFractionDigits(2).build(false),
+                    Collections.<Locale>emptyList()));
+            assertEquals(changed, Collections.singletonList(provider));
+            CurrencyUnit cur = Monetary.getCurrency("RELOAD1");
+            assertEquals(cur.getDefaultFractionDigits(), 2);
+            assertSame(Monetary.getCurrency("RELOAD1"), cur);
+            provider.publish(Collections.singletonMap(
+                    new TestCurrency.Builder("RELOAD1").withDefaultFractionDigits(3).build(false),
+                    Collections.<Locale>emptyList()));
+            assertEquals(Monetary.getCurrency("RELOAD1").getDefaultFractionDigits(), 3);
+            provider.publish(Collections.<CurrencyUnit, List<Locale>>emptyMap());
+            assertNull(Monetary.findCurrency("RELOAD1"));
+            assertEquals(changed.size(), 3);
+        } finally {
+            ReloadableCurrencyProviderSpi.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testGetOrdinal_Reloaded() {
+        TestReloadableCurrencyProvider provider = TestReloadableCurrencyProvider.getRegistered();
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        try {
+            int maxOrdinal = spi.getOrdinal(spi.getCurrency("test1"));
+            CurrencyUnit prev = null;
+            for (int i = 0; i < 100; i++) {
+                provider.publish(Collections.singletonMap(new TestCurrency.Builder("RELOAD" + i).build(false),
+                        Collections.<Locale>emptyList()));
+                CurrencyUnit cur = spi.getCurrency("RELOAD" + i);
+                assertTrue(spi.getOrdinal(cur) <= maxOrdinal + 1);
+                if (prev != null) {
+                    assertEquals(spi.getOrdinal(prev), -1);
+                }
+                prev = cur;
+            }
+        } finally {
+            provider.publish(Collections.<CurrencyUnit, List<Locale>>emptyMap());
+        }
+    }
+
+    @Test
+    public void testGetCurrency_MutableProvider() {
+        assertNotCached(new MutableCurrencyProvider());
+    }
+
+    @Test
+    public void testGetCurrency_MutableProviderProperty() {
+        System.setProperty(DefaultMonetaryCurrenciesSingletonSpi.MUTABLE_PROVIDERS_PROPERTY, "other, unannotated");
+        try {
+            assertNotCached(new UnannotatedCurrencyProvider());
+        } finally {
+            System.clearProperty(DefaultMonetaryCurrenciesSingletonSpi.MUTABLE_PROVIDERS_PROPERTY);
+        }
+    }
+
+    private static void assertNotCached(final MutableCurrencyProvider mutable) {
+        ServiceProvider prevProvider = Bootstrap.init(new IndexedServiceProvider() {
+            @Override
+            public <T> List<T> getServices(Class<T> serviceType) {
+                if (CurrencyProviderSpi.class.equals(serviceType)) {
+                    return List.class.cast(mutable.asList);
+                }
+                return super.getServices(serviceType);
+            }
+        });
+        try {
+            DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+            CurrencyQuery query = CurrencyQueryBuilder.of().setCurrencyCodes("MUT").build();
+            assertNull(spi.findCurrency("MUT"));
+            assertTrue(spi.getCurrencies(query).isEmpty());
+            assertTrue(spi.getCurrencies(new Locale("", "MUT")).isEmpty());
+            mutable.currency = new TestCurrency.Builder("MUT").withDefaultFractionDigits(2).build(false);
+            assertEquals(spi.getCurrency("MUT").getDefaultFractionDigits(), 2);
+            assertEquals(spi.getCurrencies(query).size(), 1);
+            assertEquals(spi.getCurrencies(new Locale("", "MUT")).size(), 1);
+            mutable.currency = new TestCurrency.Builder("MUT").withDefaultFractionDigits(3).build(false);
+            assertEquals(spi.getCurrency("MUT").getDefaultFractionDigits(), 3);
+            assertEquals(spi.getCurrencies(query).iterator().next().getDefaultFractionDigits(), 3);
+            assertEquals(spi.getCachedQueryCount(), 0);
+        } finally {
+            Bootstrap.init(prevProvider);
+        }
+    }
+
+    @Test
+    public void testGetCurrency_Packed() {
+        TestReloadableCurrencyProvider provider = TestReloadableCurrencyProvider.getRegistered();
+        provider.publish(Collections.singletonMap(new TestCurrency.Builder("RLD").build(false),
+                Collections.<Locale>emptyList()));
+        try {
+            CurrencyUnit cur = Monetary.getCurrency("1;RLD;2", 2, 5);
+            assertEquals(cur.getCurrencyCode(), "RLD");
+            assertSame(Monetary.getCurrency("1;RLD;2".toCharArray(), 2, 5), cur);
+            assertSame(Monetary.getCurrency("1;RLD;2".getBytes(StandardCharsets.US_ASCII), 2, 5), cur);
+            assertSame(Monetary.getCurrency("RLD"), cur);
+            assertSame(Monetary.getCurrency("1;test1;2", 2, 7), Monetary.getCurrency("test1"));
+        } finally {
+            provider.publish(Collections.<CurrencyUnit, List<Locale>>emptyMap());
+        }
+    }
+
+    @Test(expectedExceptions = UnknownCurrencyException.class)
+    public void testGetCurrency_Packed_NA() {
+        Monetary.getCurrency("1;XNA;2", 2, 5);
+    }
+
+    @Test
+    public void testGetCurrency_ChainIndexes() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        for (int i = 0; i < 100; i++) {
+            assertNull(spi.findCurrency("test1", "unknown" + i));
+        }
+        assertEquals(spi.getChainIndexCount(), 0);
+        assertSame(spi.getCurrency("test1", "test", "unknown"), spi.getCurrency("test1", "test"));
+        assertEquals(spi.getChainIndexCount(), 1);
+        String[] chain = new String[0];
+        for (int i = 0; i < 100; i++) {
+            chain = Arrays.copyOf(chain, chain.length + 1);
+            chain[i] = "test";
+            assertNotNull(spi.findCurrency("test1", chain));
+        }
+        assertEquals(spi.getChainIndexCount(), DefaultMonetaryCurrenciesSingletonSpi.MAX_CHAIN_INDEXES);
+        TestReloadableCurrencyProvider.getRegistered().publish(Collections.<CurrencyUnit, List<Locale>>emptyMap());
+        assertNotNull(spi.findCurrency("test1", "test"));
+        assertEquals(spi.getChainIndexCount(), 1);
+    }
+
+    @Test
+    public void testgetCurrencyLocale_Bounded() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        for (int i = 0; i < 2 * DefaultMonetaryCurrenciesSingletonSpi.MAX_CACHED_LOCALES; i++) {
+            assertTrue(spi.getCurrencies(new Locale("", "X" + i)).isEmpty());
+            assertTrue(spi.getCachedLocaleCount() <= DefaultMonetaryCurrenciesSingletonSpi.MAX_CACHED_LOCALES);
+        }
+        assertEquals(spi.getCurrencies(new Locale("", "TEST1L")).size(), 1);
+    }
+
     @Test
     public void testIsAvailableString() {
         assertTrue(Monetary.isCurrencyAvailable("test1"));
@@ -69,6 +378,20 @@ public class MonetaryTest {
         assertEquals(cur.getDefaultFractionDigits(), 2);
     }
 
+    @Test
+    public void testgetCurrencyLocale_Indexed() {
+        Locale country = new Locale("", "TEST1L");
+        Collection<CurrencyUnit> curs = Monetary.getCurrencies(country);
+        assertSame(Monetary.getCurrencies(country), curs);
+        assertEquals(Monetary.getCurrency(country), curs.iterator().next());
+        try {
+            curs.clear();
+            fail("Currencies by country must be immutable.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testGetCurrencies_Providers() {
         Collection<CurrencyUnit> curs = Monetary.getCurrencies("test");
@@ -104,6 +427,8 @@ public class MonetaryTest {
     public void testGetDefaultProviderChain() {
         List<String> chain = Monetary.getDefaultCurrencyProviderChain();
         assertNotNull(chain);
+        assertTrue(chain.contains("test"));
+        assertSame(Monetary.getDefaultCurrencyProviderChain(), chain);
     }
 
     @Test
@@ -125,4 +450,79 @@ public class MonetaryTest {
     }
 
 
+
+    /**
+     * Provider changing its currencies without announcing it.
+     */
+    @MutableCurrencies
+    private static class MutableCurrencyProvider implements CurrencyProviderSpi {
+        private final List<CurrencyProviderSpi> asList = Collections.<CurrencyProviderSpi>singletonList(this);
+        private volatile CurrencyUnit currency;
+
+        @Override
+        public String getProviderName() {
+            return "mutable";
+        }
+
+        @Override
+        public boolean isCurrencyAvailable(CurrencyQuery query) {
+            return !getCurrencies(query).isEmpty();
+        }
+
+        @Override
+        public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+            CurrencyUnit cur = currency;
+            if (cur == null) {
+                return Collections.emptySet();
+            }
+            return Collections.singleton(cur);
+        }
+    }
+
+    /**
+     * Provider answering with one currency named after the provider after a delay.
+     */
+    private static final class SlowCurrencyProvider implements CurrencyProviderSpi {
+        private final String name;
+        private final long delayMillis;
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        SlowCurrencyProvider(String name, long delayMillis) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public boolean isCurrencyAvailable(CurrencyQuery query) {
+            return true;
+        }
+
+        @Override
+        public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Collections.<CurrencyUnit>singleton(new TestCurrency.Builder(name).build(false));
+        }
+    }
+
+    /**
+     * Provider changing its currencies, not annotated as {@link MutableCurrencies}.
+     */
+    private static final class UnannotatedCurrencyProvider extends MutableCurrencyProvider {
+        @Override
+        public String getProviderName() {
+            return "unannotated";
+        }
+    }
 }
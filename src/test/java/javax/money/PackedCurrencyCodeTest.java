@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link PackedCurrencyCode}.
+ */
+public class PackedCurrencyCodeTest {
+
+    @Test
+    public void testPack() {
+        assertEquals(PackedCurrencyCode.pack("AAA"), 0);
+        assertEquals(PackedCurrencyCode.pack("ZZZ"), PackedCurrencyCode.SIZE - 1);
+        int chf = PackedCurrencyCode.pack("CHF");
+        assertEquals(PackedCurrencyCode.pack("1;CHF;2", 2, 5), chf);
+        assertEquals(PackedCurrencyCode.pack("1;CHF;2".toCharArray(), 2, 5), chf);
+        assertEquals(PackedCurrencyCode.pack("1;CHF;2".getBytes(StandardCharsets.US_ASCII), 2, 5), chf);
+        assertEquals(PackedCurrencyCode.unpack(chf), "CHF");
+    }
+
+    @Test
+    public void testPack_Invalid() {
+        assertEquals(PackedCurrencyCode.pack("chf"), PackedCurrencyCode.INVALID);
+        assertEquals(PackedCurrencyCode.pack("CHFX"), PackedCurrencyCode.INVALID);
+        assertEquals(PackedCurrencyCode.pack("C"), PackedCurrencyCode.INVALID);
+        assertEquals(PackedCurrencyCode.pack(new byte[]{'C', 'H', (byte) 0xC6}, 0, 3), PackedCurrencyCode.INVALID);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testPack_InvalidRange() {
+        PackedCurrencyCode.pack("CHF", 1, 4);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnpack_Invalid() {
+        PackedCurrencyCode.unpack(PackedCurrencyCode.SIZE);
+    }
+}
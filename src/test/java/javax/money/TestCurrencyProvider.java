@@ -41,6 +41,12 @@ public final class TestCurrencyProvider implements CurrencyProviderSpi {
             }
             return result;
         }
+        if (!currencyQuery.getNumericCodes().isEmpty()) {
+            if (currencyQuery.getNumericCodes().contains(1)) {
+                result.add(new TestCurrency("test1", 1, 2));
+            }
+            return result;
+        }
         if (!currencyQuery.getCountries().isEmpty()) {
             for (Locale country : currencyQuery.getCountries()) {
                 if ("TEST1L".equals(country.getCountry())) {
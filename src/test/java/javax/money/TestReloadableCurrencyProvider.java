@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money;
+
+import javax.money.spi.Bootstrap;
+import javax.money.spi.CurrencyProviderSpi;
+import javax.money.spi.ReloadableCurrencyProviderSpi;
+
+/**
+ * Test provider, whose currencies are published by the tests.
+ */
+public final class TestReloadableCurrencyProvider extends ReloadableCurrencyProviderSpi {
+
+    static TestReloadableCurrencyProvider getRegistered() {
+        for (CurrencyProviderSpi spi : Bootstrap.getServices(CurrencyProviderSpi.class)) {
+            if (spi instanceof TestReloadableCurrencyProvider) {
+                return (TestReloadableCurrencyProvider) spi;
+            }
+        }
+        throw new IllegalStateException("TestReloadableCurrencyProvider not registered.");
+    }
+
+    @Override
+    public String getProviderName() {
+        return "reloadable";
+    }
+
+}
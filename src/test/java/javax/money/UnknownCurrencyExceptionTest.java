@@ -39,6 +39,33 @@ public class UnknownCurrencyExceptionTest {
         assertTrue(e.toString().contains("UnknownCurrencyException"));
     }
 
+    @Test
+    public void testStackless() throws Exception{
+        UnknownCurrencyException e = new UnknownCurrencyException("GGG", false);
+        assertEquals("GGG", e.getCurrencyCode());
+        assertEquals(e.getStackTrace().length, 0);
+        assertTrue(new UnknownCurrencyException("GGG", true).getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testStackless_Monetary() throws Exception{
+        boolean stackless = Boolean.getBoolean(DefaultMonetaryCurrenciesSingletonSpi.STACKLESS_EXCEPTIONS_PROPERTY);
+        try {
+            Monetary.getCurrency("GGG");
+            fail("UnknownCurrencyException expected.");
+        } catch (UnknownCurrencyException e) {
+            assertEquals(e.getCurrencyCode(), "GGG");
+            assertEquals(e.getStackTrace().length == 0, stackless);
+        }
+        try {
+            Monetary.getCurrency(999);
+            fail("UnknownCurrencyException expected.");
+        } catch (UnknownCurrencyException e) {
+            assertEquals(e.getCurrencyCode(), "999");
+            assertEquals(e.getStackTrace().length == 0, stackless);
+        }
+    }
+
     @Test
     public void testGetLocale() throws Exception{
         UnknownCurrencyException e = new UnknownCurrencyException(Locale.CANADA_FRENCH);
@@ -16,6 +16,7 @@
  */
 package javax.money.spi;
 
+import java.io.IOException;
 import java.util.*;
 
 import org.testng.annotations.Test;
@@ -36,6 +37,66 @@ public class BootstrapTest {
         assertTrue(testProv == Bootstrap.init(prov));
     }
 
+    @Test
+    public void testGetEpoch_IncrementedOnInit() throws Exception {
+        long epoch = Bootstrap.getEpoch();
+        ServiceProvider prov = Bootstrap.init(new TestServiceProvider());
+        assertTrue(Bootstrap.getEpoch() > epoch);
+        epoch = Bootstrap.getEpoch();
+        Bootstrap.init(prov);
+        assertTrue(Bootstrap.getEpoch() > epoch);
+    }
+
+    @Test
+    public void testListener_NotifiedOnInit() throws Exception {
+        final List<Long> epochs = new ArrayList<>();
+        BootstrapListener listener = new BootstrapListener() {
+            @Override
+            public void serviceProviderChanged(ServiceProvider serviceProvider, long epoch) {
+                epochs.add(epoch);
+            }
+        };
+        Bootstrap.addListener(listener);
+        try {
+            ServiceProvider prov = Bootstrap.init(new TestServiceProvider());
+            Bootstrap.init(prov);
+        } finally {
+            assertTrue(Bootstrap.removeListener(listener));
+        }
+        assertEquals(epochs.size(), 2);
+        assertEquals(epochs.get(1).longValue(), Bootstrap.getEpoch());
+        assertFalse(Bootstrap.removeListener(listener));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        ServiceProvider prov = Bootstrap.getServiceProvider();
+        Collection<String> services = Bootstrap.getServices(String.class);
+        long epoch = Bootstrap.getEpoch();
+        assertTrue(Bootstrap.invalidate(prov));
+        assertEquals(Bootstrap.getEpoch(), epoch + 1);
+        assertNotSame(Bootstrap.getServices(String.class), services);
+        assertFalse(Bootstrap.invalidate(new TestServiceProvider()));
+        assertEquals(Bootstrap.getEpoch(), epoch + 1);
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        ServiceProvider prov = Bootstrap.getServiceProvider();
+        TestServiceProvider temporary = new TestServiceProvider();
+        assertSame(Bootstrap.init(temporary), prov);
+        try {
+            long epoch = Bootstrap.getEpoch();
+            assertFalse(Bootstrap.replace(new TestServiceProvider(), prov));
+            assertSame(Bootstrap.getServiceProvider(), temporary);
+            assertTrue(Bootstrap.replace(temporary, prov));
+            assertEquals(Bootstrap.getEpoch(), epoch + 1);
+        } finally {
+            Bootstrap.replace(temporary, prov);
+        }
+        assertSame(Bootstrap.getServiceProvider(), prov);
+    }
+
     @Test
     public void testInit() throws Exception {
         Collection<Object> services = Collection.class.cast(Bootstrap.getServices(String.class));
@@ -66,6 +127,50 @@ public class BootstrapTest {
         assertTrue(services.isEmpty());
     }
 
+    @Test
+    public void testGetServices_Snapshot() throws Exception {
+        Collection<String> services = Bootstrap.getServices(String.class);
+        assertSame(Bootstrap.getServices(String.class), services);
+        assertEquals(Bootstrap.getService(String.class), "service1");
+        try {
+            services.add("service3");
+            fail("Service snapshot must be immutable.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetServices_FailureNotCached() throws Exception {
+        final boolean[] failing = {true};
+        ServiceProvider failingProvider = new DefaultServiceProvider() {
+            @Override
+            Collection<String> getServiceClassNames(Class<?> serviceType, ClassLoader classLoader)
+                    throws IOException {
+                if (failing[0]) {
+                    throw new IOException("Test failure reading registrations");
+                }
+                return Collections.singletonList(StringBuilder.class.getName());
+            }
+        };
+        ServiceProvider prov = Bootstrap.getServiceProvider();
+        assertSame(Bootstrap.init(failingProvider), prov);
+        try {
+            try {
+                Bootstrap.getServices(CharSequence.class);
+                fail("ServiceConfigurationError expected.");
+            } catch (ServiceConfigurationError e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            failing[0] = false;
+            Collection<CharSequence> services = Bootstrap.getServices(CharSequence.class);
+            assertEquals(services.size(), 1);
+            assertSame(Bootstrap.getServices(CharSequence.class), services);
+        } finally {
+            Bootstrap.replace(failingProvider, prov);
+        }
+    }
+
     @Test
     public void testGetService() throws Exception {
         Integer num = Bootstrap.getService(Integer.class);
@@ -73,6 +178,17 @@ public class BootstrapTest {
         assertTrue(num.equals(5));
     }
 
+    @Test
+    public void testWarmUp() throws Exception {
+        Bootstrap.warmUp(2);
+        assertEquals(Bootstrap.getService(String.class), "service1");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWarmUp_InvalidParallelism() throws Exception {
+        Bootstrap.warmUp(0);
+    }
+
     @Test
     public void testGetService_BadCase() throws Exception {
         assertNull(Bootstrap.getService(Locale.class));
@@ -89,6 +205,8 @@ public class BootstrapTest {
                 return List.class.cast(Collections.singletonList(5));
             } else if (Long.class.equals(serviceType)) {
                 return List.class.cast(Collections.singletonList((long) 111));
+            } else if (Short.class.equals(serviceType)) {
+                throw new IllegalStateException("Test failure loading " + serviceType.getName());
             }
             return super.getServices(serviceType);
         }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.Test;
+
+import javax.money.TestCurrencyProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link ClassLoaderServiceProvider}.
+ */
+public class ClassLoaderServiceProviderTest {
+
+    @Test
+    public void testGetServices_SameClassLoader() {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        List<CurrencyProviderSpi> currencyProviders = provider.getServices(CurrencyProviderSpi.class);
+        assertEquals(currencyProviders.size(), 2);
+        assertTrue(currencyProviders.get(0) instanceof TestCurrencyProvider);
+        assertSame(provider.getServices(CurrencyProviderSpi.class), currencyProviders);
+        assertSame(provider.getService(CurrencyProviderSpi.class), currencyProviders.get(0));
+    }
+
+    @Test
+    public void testGetServices_PerClassLoader() {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        List<CurrencyProviderSpi> currencyProviders = provider.getServices(CurrencyProviderSpi.class);
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        ClassLoader tenantLoader = new URLClassLoader(new URL[0], DefaultServiceProvider.getClassLoader());
+        thread.setContextClassLoader(tenantLoader);
+        try {
+            List<CurrencyProviderSpi> tenantProviders = provider.getServices(CurrencyProviderSpi.class);
+            assertEquals(tenantProviders.size(), 2);
+            assertNotSame(tenantProviders, currencyProviders);
+            assertNotSame(tenantProviders.get(0), currencyProviders.get(0));
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        assertSame(provider.getServices(CurrencyProviderSpi.class), currencyProviders);
+        assertTrue(provider.release(tenantLoader));
+        assertFalse(provider.release(tenantLoader));
+    }
+
+    @Test
+    public void testGetScopedInstance_PerClassLoader() throws Exception {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        Object key = new Object();
+        Callable<Object> factory = new Callable<Object>() {
+            @Override
+            public Object call() {
+                return new Object();
+            }
+        };
+        Object instance = provider.getScopedInstance(key, factory);
+        assertSame(provider.getScopedInstance(key, factory), instance);
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new URLClassLoader(new URL[0], DefaultServiceProvider.getClassLoader()));
+        try {
+            Object tenantInstance = provider.getScopedInstance(key, factory);
+            assertNotSame(tenantInstance, instance);
+            assertSame(provider.getScopedInstance(key, factory), tenantInstance);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        assertSame(provider.getScopedInstance(key, factory), instance);
+    }
+
+    @Test
+    public void testServiceCache_PerClassLoader() {
+        ServiceCache<StringBuilder> cache = new ServiceCache<StringBuilder>(StringBuilder.class) {
+            @Override
+            protected StringBuilder createDefault() {
+                return new StringBuilder();
+            }
+        };
+        ServiceProvider prevProvider = Bootstrap.init(new ClassLoaderServiceProvider());
+        try {
+            StringBuilder instance = cache.get();
+            assertSame(cache.get(), instance);
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(new URLClassLoader(new URL[0], DefaultServiceProvider.getClassLoader()));
+            try {
+                StringBuilder tenantInstance = cache.get();
+                assertNotSame(tenantInstance, instance);
+                assertSame(cache.get(), tenantInstance);
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+            }
+            assertSame(cache.get(), instance);
+        } finally {
+            Bootstrap.init(prevProvider);
+        }
+    }
+
+    @Test
+    public void testRelease_ClassLoaderCollected() throws Exception {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        WeakReference<ClassLoader> tenantRef = loadTenant(provider, true);
+        for (int i = 0; i < 100 && tenantRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(tenantRef.get(), "Class loader not collected.");
+    }
+
+    @Test
+    public void testGetServices_ClassLoaderCollected() throws Exception {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        WeakReference<ClassLoader> tenantRef = loadTenant(provider, false);
+        for (int i = 0; i < 100 && tenantRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(tenantRef.get(), "Class loader not collected.");
+    }
+
+    @Test
+    public void testGetServices_TenantProviderCollected() throws Exception {
+        ClassLoaderServiceProvider provider = new ClassLoaderServiceProvider();
+        Path servicesDir = Files.createTempDirectory("tenant");
+        try {
+            Path registration = servicesDir.resolve("META-INF/services/" + CurrencyProviderSpi.class.getName());
+            Files.createDirectories(registration.getParent());
+            Files.write(registration, TenantCurrencyProvider.class.getName().getBytes(StandardCharsets.UTF_8));
+            WeakReference<ClassLoader> tenantRef = loadTenantProvider(provider, servicesDir);
+            for (int i = 0; i < 100 && tenantRef.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10L);
+            }
+            assertNull(tenantRef.get(), "Class loader not collected.");
+        } finally {
+            Files.delete(servicesDir.resolve("META-INF/services/" + CurrencyProviderSpi.class.getName()));
+            Files.delete(servicesDir.resolve("META-INF/services"));
+            Files.delete(servicesDir.resolve("META-INF"));
+            Files.delete(servicesDir);
+        }
+    }
+
+    private static WeakReference<ClassLoader> loadTenantProvider(ClassLoaderServiceProvider provider, Path servicesDir)
+            throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        ClassLoader tenantLoader = new TenantClassLoader(servicesDir.toUri().toURL(),
+                DefaultServiceProvider.getClassLoader());
+        thread.setContextClassLoader(tenantLoader);
+        try {
+            List<CurrencyProviderSpi> currencyProviders = provider.getServices(CurrencyProviderSpi.class);
+            assertEquals(currencyProviders.size(), 3);
+            boolean found = false;
+            for (CurrencyProviderSpi spi : currencyProviders) {
+                if (spi.getClass().getName().equals(TenantCurrencyProvider.class.getName())) {
+                    assertSame(spi.getClass().getClassLoader(), tenantLoader);
+                    found = true;
+                }
+            }
+            assertTrue(found, "Tenant provider not loaded.");
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        return new WeakReference<>(tenantLoader);
+    }
+
+    private static WeakReference<ClassLoader> loadTenant(ClassLoaderServiceProvider provider, boolean release)
+            throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        ClassLoader tenantLoader = new URLClassLoader(new URL[0], DefaultServiceProvider.getClassLoader());
+        thread.setContextClassLoader(tenantLoader);
+        try {
+            assertEquals(provider.getServices(CurrencyProviderSpi.class).size(), 2);
+            assertNotNull(provider.getScopedInstance(CurrencyProviderSpi.class, new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return new Object();
+                }
+            }));
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        if (release) {
+            assertTrue(provider.release(tenantLoader));
+        }
+        return new WeakReference<>(tenantLoader);
+    }
+
+    /**
+     * Class loader defining its own copy of {@link TenantCurrencyProvider}, like a web application
+     * bundling a provider.
+     */
+    private static final class TenantClassLoader extends URLClassLoader {
+
+        TenantClassLoader(URL servicesDir, ClassLoader parent) {
+            super(new URL[]{servicesDir}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(TenantCurrencyProvider.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    byte[] bytes = readClass(name);
+                    type = defineClass(name, bytes, 0, bytes.length);
+                }
+                return type;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -18,10 +18,14 @@ package javax.money.spi;
 
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.money.DummyAmount;
 import javax.money.DummyAmountBuilder;
@@ -29,6 +33,7 @@ import javax.money.MonetaryAmount;
 import javax.money.Monetary;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
 
 /**
  * Test concurrent initialization/bootstrapping of {@link Bootstrap}.
@@ -48,8 +53,39 @@ public class ConcurrentInitializationTest {
         }
     }
 
+    /**
+     * {@link DefaultServiceProvider} counting the service loads performed per type.
+     */
+    static class CountingServiceProvider extends DefaultServiceProvider {
+        private final ConcurrentHashMap<Class<?>, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+        @Override
+        <T> List<T> loadServices(Class<T> serviceType) throws IOException {
+            AtomicInteger count = new AtomicInteger();
+            AtomicInteger prevCount = loads.putIfAbsent(serviceType, count);
+            (prevCount == null ? count : prevCount).incrementAndGet();
+            try {
+                // widen the window for concurrent callers
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.loadServices(serviceType);
+        }
+
+        int getLoadCount(Class<?> serviceType) {
+            AtomicInteger count = loads.get(serviceType);
+            return count == null ? 0 : count.get();
+        }
+    }
+
     private static final int THREAD_COUNT = 100;
 
+    private static final int LOADER_THREAD_COUNT = 64;
+
+    private static final Class<?>[] SERVICE_TYPES = {CurrencyProviderSpi.class, RoundingProviderSpi.class,
+            MonetaryAmountFactoryProviderSpi.class, MonetaryAmountFormatProviderSpi.class};
+
     /**
      * https://github.com/JavaMoney/jsr354-ri/issues/30.
      */
@@ -82,4 +118,43 @@ public class ConcurrentInitializationTest {
         assertEquals(0, throwables.size());
 
     }
+
+    /**
+     * Ensures concurrent first access loads the services of each type exactly once.
+     */
+    @Test
+    public void shouldLoadServicesOncePerType() throws InterruptedException {
+        final CountingServiceProvider serviceProvider = new CountingServiceProvider();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>(LOADER_THREAD_COUNT);
+        final List<Throwable> throwables = Collections.synchronizedList(new ArrayList<Throwable>());
+        final List<List<?>> results = Collections.synchronizedList(new ArrayList<List<?>>());
+
+        for (int i = 0; i < LOADER_THREAD_COUNT; i++) {
+            final Class<?> serviceType = SERVICE_TYPES[i % SERVICE_TYPES.length];
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        results.add(serviceProvider.getServices(serviceType));
+                    } catch (Throwable e) {
+                        throwables.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, throwables.size());
+        assertEquals(LOADER_THREAD_COUNT, results.size());
+        for (Class<?> serviceType : SERVICE_TYPES) {
+            assertEquals("Services loaded more than once: " + serviceType, 1, serviceProvider.getLoadCount(serviceType));
+            assertSame(serviceProvider.getServices(serviceType), serviceProvider.getServices(serviceType));
+        }
+    }
 }
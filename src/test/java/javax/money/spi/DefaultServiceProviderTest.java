@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link DefaultServiceProvider}.
+ */
+public class DefaultServiceProviderTest {
+
+    @Test
+    public void testCompareServiceTypes_Priority() {
+        List<Class<?>> types = new ArrayList<>();
+        types.addAll(Arrays.asList(AService.class, LowService.class, HighService.class, BService.class));
+        Collections.sort(types, new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> o1, Class<?> o2) {
+                return DefaultServiceProvider.compareServiceTypes(o1, o2);
+            }
+        });
+        assertEquals(types, Arrays.<Class<?>>asList(HighService.class, AService.class, BService.class, LowService.class));
+    }
+
+    @Test
+    public void testGetServices_Lazy() throws Exception {
+        List<CountingService> services = new DefaultServiceProvider().loadServices(CountingService.class);
+        assertEquals(CountingService.INSTANCES.get(), 0);
+        assertTrue(services.isEmpty());
+        DefaultServiceProvider.LazyServiceList<CountingService> lazyServices = new DefaultServiceProvider.LazyServiceList<>(
+                Arrays.asList(new DefaultServiceProvider.ServiceHandle<CountingService>(CountingService.class,
+                                CountingService.class),
+                        new DefaultServiceProvider.ServiceHandle<CountingService>(CountingService.class,
+                                OtherCountingService.class)));
+        assertEquals(lazyServices.size(), 2);
+        assertFalse(lazyServices.isEmpty());
+        assertEquals(CountingService.INSTANCES.get(), 0);
+        assertNotNull(lazyServices.get(0));
+        assertEquals(CountingService.INSTANCES.get(), 1);
+        assertSame(lazyServices.get(0), lazyServices.get(0));
+        assertTrue(lazyServices.get(1) instanceof OtherCountingService);
+        assertEquals(CountingService.INSTANCES.get(), 2);
+    }
+
+    @Test
+    public void testGetServices_FailingService() {
+        DefaultServiceProvider.LazyServiceList<Object> lazyServices = new DefaultServiceProvider.LazyServiceList<>(
+                Arrays.asList(new DefaultServiceProvider.ServiceHandle<Object>(Object.class, AService.class),
+                        new DefaultServiceProvider.ServiceHandle<Object>(Object.class, FailingService.class)));
+        assertEquals(lazyServices.size(), 2);
+        assertTrue(lazyServices.get(0) instanceof AService);
+        for (int i = 0; i < 2; i++) {
+            try {
+                lazyServices.get(1);
+                fail("ServiceConfigurationError expected.");
+            } catch (ServiceConfigurationError e) {
+                assertTrue(e.getMessage().contains(FailingService.class.getName()), e.getMessage());
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    public void testGetServices_ClassNotFound() {
+        DefaultServiceProvider provider = new DefaultServiceProvider() {
+            @Override
+            Collection<String> getServiceClassNames(Class<?> serviceType, ClassLoader classLoader) {
+                return Collections.singletonList("javax.money.spi.NotExisting");
+            }
+        };
+        try {
+            provider.getServices(Runnable.class);
+            fail("ServiceConfigurationError expected.");
+        } catch (ServiceConfigurationError e) {
+            assertTrue(e.getMessage().contains("javax.money.spi.NotExisting"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetServices_ReadFailureNotCached() {
+        final AtomicInteger reads = new AtomicInteger();
+        DefaultServiceProvider provider = new DefaultServiceProvider() {
+            @Override
+            Collection<String> getServiceClassNames(Class<?> serviceType, ClassLoader classLoader)
+                    throws IOException {
+                if (reads.incrementAndGet() == 1) {
+                    throw new IOException("Test failure reading registrations");
+                }
+                return Collections.emptyList();
+            }
+        };
+        try {
+            provider.getServices(Runnable.class);
+            fail("ServiceConfigurationError expected.");
+        } catch (ServiceConfigurationError e) {
+            assertTrue(e.getMessage().contains(Runnable.class.getName()), e.getMessage());
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertTrue(provider.getServices(Runnable.class).isEmpty());
+        assertEquals(reads.get(), 2);
+    }
+
+    @Test
+    public void testGetPriority() {
+        assertEquals(DefaultServiceProvider.getPriority(HighService.class), 100);
+        assertEquals(DefaultServiceProvider.getPriority(LowService.class), -1);
+        assertEquals(DefaultServiceProvider.getPriority(AService.class), 0);
+    }
+
+    @ServicePriority(100)
+    static final class HighService {
+    }
+
+    @ServicePriority(-1)
+    static final class LowService {
+    }
+
+    static final class AService {
+    }
+
+    public static class CountingService {
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountingService() {
+            INSTANCES.incrementAndGet();
+        }
+    }
+
+    public static class OtherCountingService extends CountingService {
+    }
+
+    public static final class FailingService {
+        public FailingService() {
+            throw new IllegalStateException("Failing service");
+        }
+    }
+
+    static final class BService {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.Test;
+
+import javax.money.TestCurrencyProvider;
+import javax.money.TestReloadableCurrencyProvider;
+import javax.money.TestRoundingProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link IndexedServiceProvider}.
+ */
+public class IndexedServiceProviderTest {
+
+    @Test
+    public void testGetPriority() {
+        assertEquals(new IndexedServiceProvider().getPriority(), 10);
+    }
+
+    @Test
+    public void testGetServices() {
+        IndexedServiceProvider provider = new IndexedServiceProvider();
+        List<CurrencyProviderSpi> currencyProviders = provider.getServices(CurrencyProviderSpi.class);
+        assertEquals(currencyProviders.size(), 2);
+        assertTrue(currencyProviders.get(0) instanceof TestCurrencyProvider);
+        assertTrue(currencyProviders.get(1) instanceof TestReloadableCurrencyProvider);
+        assertTrue(provider.getService(RoundingProviderSpi.class) instanceof TestRoundingProvider);
+    }
+
+    @Test
+    public void testGetServices_RegisteredOnly() {
+        IndexedServiceProvider provider = new IndexedServiceProvider();
+        List<ServiceProvider> serviceProviders = provider.getServices(ServiceProvider.class);
+        assertEquals(serviceProviders.size(), 1);
+        assertTrue(serviceProviders.get(0) instanceof BootstrapTest.TestServiceProvider);
+    }
+
+    @Test
+    public void testGetServices_NotRegistered() {
+        IndexedServiceProvider provider = new IndexedServiceProvider();
+        assertTrue(provider.getServices(Locale.class).isEmpty());
+        assertNull(provider.getService(Locale.class));
+    }
+
+    /**
+     * Class loader recording the resources looked up.
+     */
+    private static final class RecordingClassLoader extends ClassLoader {
+        private final List<String> requested = new ArrayList<>();
+
+        RecordingClassLoader() {
+            super(IndexedServiceProviderTest.class.getClassLoader());
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            requested.add(name);
+            return super.getResources(name);
+        }
+    }
+
+    @Test
+    public void testGetServiceClassNames_IndexOnly() throws Exception {
+        IndexedServiceProvider provider = new IndexedServiceProvider();
+        RecordingClassLoader loader = new RecordingClassLoader();
+        assertEquals(new ArrayList<>(provider.getServiceClassNames(CurrencyProviderSpi.class, loader)),
+                Arrays.asList(TestCurrencyProvider.class.getName(), TestReloadableCurrencyProvider.class.getName()));
+        assertEquals(loader.requested, Collections.singletonList(IndexedServiceProvider.INDEX_RESOURCE));
+        provider.getServiceClassNames(ServiceProvider.class, loader);
+        assertEquals(loader.requested.get(1), "META-INF/services/" + ServiceProvider.class.getName());
+    }
+
+    @Test
+    public void testGetServiceClassNames_Merged() throws Exception {
+        System.setProperty(IndexedServiceProvider.MERGE_PROPERTY, "true");
+        try {
+            IndexedServiceProvider provider = new IndexedServiceProvider();
+            RecordingClassLoader loader = new RecordingClassLoader();
+            assertEquals(new ArrayList<>(provider.getServiceClassNames(RoundingProviderSpi.class, loader)),
+                    Collections.singletonList(TestRoundingProvider.class.getName()));
+            assertEquals(loader.requested, Arrays.asList(IndexedServiceProvider.INDEX_RESOURCE,
+                    "META-INF/services/" + RoundingProviderSpi.class.getName()));
+        } finally {
+            System.clearProperty(IndexedServiceProvider.MERGE_PROPERTY);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.testng.annotations.Test;
 import javax.money.CurrencyQuery;
 import javax.money.CurrencyQueryBuilder;
 import javax.money.CurrencyUnit;
+import javax.money.PackedCurrencyCode;
 import javax.money.TestCurrency;
 import java.util.*;
 
@@ -32,7 +33,7 @@ import static org.testng.AssertJUnit.*;
 @SuppressWarnings("unchecked")
 public class MonetaryCurrenciesSingletonSpiTest {
 
-    private MonetaryCurrenciesSingletonSpi testSpi = new BaseMonetaryCurrenciesSingletonSpi() {
+    private BaseMonetaryCurrenciesSingletonSpi testSpi = new BaseMonetaryCurrenciesSingletonSpi() {
 
         @Override
         public List<String> getDefaultProviderChain() {
@@ -124,4 +125,27 @@ public class MonetaryCurrenciesSingletonSpiTest {
         assertEquals(cu.getCurrencyCode(), "USD");
     }
 
+    @Test
+    public void testFindCurrency() {
+        CurrencyUnit cu = testSpi.findCurrency("USD");
+        assertNotNull(cu);
+        assertEquals(cu.getCurrencyCode(), "USD");
+        cu = testSpi.findCurrencyByPackedCode(PackedCurrencyCode.pack("USD", 0, 3));
+        assertNotNull(cu);
+        assertEquals(cu.getCurrencyCode(), "USD");
+    }
+
+    @Test
+    public void testFindCurrencies() {
+        List<CurrencyUnit> curs = testSpi.findCurrencies(Arrays.asList("USD", "XXX", "USD"));
+        assertEquals(curs.size(), 3);
+        assertEquals(curs.get(0).getCurrencyCode(), "USD");
+        assertSame(curs.get(2), curs.get(0));
+    }
+
+    @Test
+    public void testGetOrdinal() {
+        assertEquals(testSpi.getOrdinal(TestCurrency.of("USD")), -1);
+    }
+
 }
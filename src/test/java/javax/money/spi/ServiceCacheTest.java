@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link ServiceCache}.
+ */
+public class ServiceCacheTest {
+
+    @Test
+    public void testGet_Cached() {
+        ServiceCache<Integer> cache = new ServiceCache<Integer>(Integer.class) {
+        };
+        Integer service = cache.get();
+        assertEquals(service, Integer.valueOf(5));
+        assertSame(cache.get(), service);
+    }
+
+    @Test
+    public void testGet_ResolvedAgainOnEpochChange() {
+        final AtomicInteger defaults = new AtomicInteger();
+        ServiceCache<Runtime> cache = new ServiceCache<Runtime>(Runtime.class) {
+            @Override
+            protected Runtime createDefault() {
+                defaults.incrementAndGet();
+                return Runtime.getRuntime();
+            }
+        };
+        assertSame(cache.get(), Runtime.getRuntime());
+        cache.get();
+        assertEquals(defaults.get(), 1);
+        assertTrue(Bootstrap.invalidate(Bootstrap.getServiceProvider()));
+        cache.get();
+        assertEquals(defaults.get(), 2);
+    }
+
+    @Test
+    public void testGet_FailureCachedForEpoch() {
+        final AtomicInteger defaults = new AtomicInteger();
+        ServiceCache<Short> cache = new ServiceCache<Short>(Short.class) {
+            @Override
+            protected Short createDefault() {
+                return (short) defaults.incrementAndGet();
+            }
+        };
+        assertEquals(cache.get(), Short.valueOf((short) 1));
+        assertEquals(cache.get(), Short.valueOf((short) 1));
+        assertTrue(Bootstrap.invalidate(Bootstrap.getServiceProvider()));
+        assertEquals(cache.get(), Short.valueOf((short) 2));
+    }
+
+    @Test
+    public void testGet_NoDefault() {
+        ServiceCache<Runtime> cache = new ServiceCache<Runtime>(Runtime.class) {
+        };
+        assertNull(cache.get());
+    }
+}
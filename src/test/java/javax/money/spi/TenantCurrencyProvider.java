@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi;
+
+import javax.money.CurrencyQuery;
+import javax.money.CurrencyUnit;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Currency provider defined by the tenant class loader of {@link ClassLoaderServiceProviderTest}, like a provider
+ * bundled by a web application.
+ */
+public final class TenantCurrencyProvider implements CurrencyProviderSpi {
+
+    @Override
+    public String getProviderName() {
+        return "tenant";
+    }
+
+    @Override
+    public boolean isCurrencyAvailable(CurrencyQuery query) {
+        return false;
+    }
+
+    @Override
+    public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.osgi;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.money.spi.Bootstrap;
+import javax.money.spi.BootstrapListener;
+import javax.money.spi.CurrencyProviderSpi;
+import javax.money.spi.ServiceProvider;
+
+import org.mockito.Mockito;
+import org.osgi.framework.BundleContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link OSGiActivator}, using a mocked {@link BundleContext}.
+ */
+public class OSGiActivatorTest {
+
+    private ServiceProvider originalServiceProvider;
+    private ServiceProvider prevServiceProvider;
+    private final AtomicReference<ServiceProvider> currentServiceProvider = new AtomicReference<>();
+    private final BootstrapListener listener = new BootstrapListener() {
+        @Override
+        public void serviceProviderChanged(ServiceProvider serviceProvider, long epoch) {
+            currentServiceProvider.set(serviceProvider);
+        }
+    };
+
+    @BeforeMethod
+    public void prepare() {
+        Bootstrap.getService(CurrencyProviderSpi.class);
+        prevServiceProvider = Mockito.mock(ServiceProvider.class);
+        originalServiceProvider = Bootstrap.init(prevServiceProvider);
+        currentServiceProvider.set(prevServiceProvider);
+        Bootstrap.addListener(listener);
+    }
+
+    @AfterMethod
+    public void restore() {
+        Bootstrap.removeListener(listener);
+        Bootstrap.init(originalServiceProvider);
+    }
+
+    private static BundleContext createContext(String enabled) {
+        BundleContext context = Mockito.mock(BundleContext.class);
+        Mockito.when(context.getProperty(OSGiActivator.ENABLED_PROPERTY)).thenReturn(enabled);
+        return context;
+    }
+
+    @Test
+    public void testStart_NotEnabled() {
+        BundleContext context = createContext(null);
+        OSGiActivator activator = new OSGiActivator();
+        long epoch = Bootstrap.getEpoch();
+        activator.start(context);
+        assertEquals(Bootstrap.getEpoch(), epoch);
+        activator.stop(context);
+        assertEquals(Bootstrap.getEpoch(), epoch);
+        assertSame(currentServiceProvider.get(), prevServiceProvider);
+    }
+
+    @Test
+    public void testStartStop_RestoresPrevious() {
+        BundleContext context = createContext("true");
+        OSGiActivator activator = new OSGiActivator();
+        activator.start(context);
+        assertTrue(currentServiceProvider.get() instanceof OSGiServiceProvider);
+        activator.stop(context);
+        assertSame(currentServiceProvider.get(), prevServiceProvider);
+    }
+
+    @Test
+    public void testStop_KeepsReplacement() {
+        BundleContext context = createContext("true");
+        OSGiActivator activator = new OSGiActivator();
+        activator.start(context);
+        ServiceProvider replacement = Mockito.mock(ServiceProvider.class);
+        Bootstrap.init(replacement);
+        activator.stop(context);
+        assertSame(currentServiceProvider.get(), replacement);
+    }
+}
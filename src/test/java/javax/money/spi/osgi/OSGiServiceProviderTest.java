@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.osgi;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.money.TestCurrencyProvider;
+import javax.money.spi.Bootstrap;
+import javax.money.spi.CurrencyProviderSpi;
+import javax.money.spi.ServiceProvider;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link OSGiServiceProvider}, using a mocked {@link BundleContext}.
+ */
+public class OSGiServiceProviderTest {
+
+    private BundleContext context;
+    private ServiceProvider fallback;
+
+    @BeforeMethod
+    public void prepare() {
+        context = Mockito.mock(BundleContext.class);
+        fallback = Mockito.mock(ServiceProvider.class);
+        Mockito.when(fallback.getServices(CurrencyProviderSpi.class))
+                .thenReturn(Collections.<CurrencyProviderSpi>emptyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ServiceReference<Object> register(Object service) {
+        ServiceReference<Object> reference = Mockito.mock(ServiceReference.class);
+        Mockito.when(context.getService(reference)).thenReturn(service);
+        return reference;
+    }
+
+    private void setRegistered(ServiceReference<?>... references) throws Exception {
+        Mockito.when(context.getServiceReferences(ArgumentMatchers.eq(CurrencyProviderSpi.class.getName()),
+                ArgumentMatchers.nullable(String.class))).thenReturn(references);
+    }
+
+    private ServiceListener getServiceListener() throws Exception {
+        ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+        Mockito.verify(context).addServiceListener(listener.capture(), ArgumentMatchers.anyString());
+        return listener.getValue();
+    }
+
+    @Test
+    public void testGetServices_RankingOrder() throws Exception {
+        CurrencyProviderSpi low = Mockito.mock(CurrencyProviderSpi.class);
+        CurrencyProviderSpi high = Mockito.mock(CurrencyProviderSpi.class);
+        ServiceReference<Object> lowRef = register(low);
+        ServiceReference<Object> highRef = register(high);
+        Mockito.when(highRef.compareTo(lowRef)).thenReturn(1);
+        Mockito.when(lowRef.compareTo(highRef)).thenReturn(-1);
+        setRegistered(lowRef, highRef);
+        OSGiServiceProvider provider = new OSGiServiceProvider(context, fallback);
+        assertEquals(provider.getServices(CurrencyProviderSpi.class), Arrays.asList(high, low));
+        assertSame(provider.getService(CurrencyProviderSpi.class), high);
+    }
+
+    @Test
+    public void testGetServices_Fallback() throws Exception {
+        CurrencyProviderSpi osgiService = Mockito.mock(CurrencyProviderSpi.class);
+        setRegistered(register(osgiService));
+        CurrencyProviderSpi fallbackService = new TestCurrencyProvider();
+        Mockito.when(fallback.getServices(CurrencyProviderSpi.class)).thenReturn(
+                Arrays.asList(Mockito.mock(CurrencyProviderSpi.class), fallbackService));
+        OSGiServiceProvider provider = new OSGiServiceProvider(context, fallback);
+        assertEquals(provider.getServices(CurrencyProviderSpi.class), Arrays.asList(osgiService, fallbackService));
+    }
+
+    @Test
+    public void testGetServices_FallbackOnly() throws Exception {
+        setRegistered((ServiceReference<?>[]) null);
+        CurrencyProviderSpi fallbackService = new TestCurrencyProvider();
+        Mockito.when(fallback.getServices(CurrencyProviderSpi.class))
+                .thenReturn(Collections.singletonList(fallbackService));
+        OSGiServiceProvider provider = new OSGiServiceProvider(context, fallback);
+        assertEquals(provider.getServices(CurrencyProviderSpi.class), Collections.singletonList(fallbackService));
+    }
+
+    @Test
+    public void testGetServices_RegisterUnregister() throws Exception {
+        CurrencyProviderSpi first = Mockito.mock(CurrencyProviderSpi.class);
+        ServiceReference<Object> firstRef = register(first);
+        setRegistered(firstRef);
+        OSGiServiceProvider provider = new OSGiServiceProvider(context, fallback);
+        ServiceProvider prevProvider = Bootstrap.init(provider);
+        try {
+            assertEquals(provider.getServices(CurrencyProviderSpi.class), Collections.singletonList(first));
+            ServiceListener listener = getServiceListener();
+            CurrencyProviderSpi second = Mockito.mock(CurrencyProviderSpi.class);
+            ServiceReference<Object> secondRef = register(second);
+            long epoch = Bootstrap.getEpoch();
+            listener.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, secondRef));
+            assertEquals(Bootstrap.getEpoch(), epoch + 1);
+            assertEquals(provider.getServices(CurrencyProviderSpi.class), Arrays.asList(first, second));
+            listener.serviceChanged(new ServiceEvent(ServiceEvent.UNREGISTERING, firstRef));
+            assertEquals(Bootstrap.getEpoch(), epoch + 2);
+            assertEquals(provider.getServices(CurrencyProviderSpi.class), Collections.singletonList(second));
+            Mockito.verify(context).ungetService(firstRef);
+        } finally {
+            Bootstrap.replace(provider, prevProvider);
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        CurrencyProviderSpi service = Mockito.mock(CurrencyProviderSpi.class);
+        ServiceReference<Object> reference = register(service);
+        setRegistered(reference);
+        OSGiServiceProvider provider = new OSGiServiceProvider(context, fallback);
+        assertEquals(provider.getServices(CurrencyProviderSpi.class), Collections.singletonList(service));
+        ServiceListener listener = getServiceListener();
+        provider.close();
+        Mockito.verify(context).removeServiceListener(listener);
+        Mockito.verify(context).ungetService(reference);
+        assertTrue(provider.getServices(CurrencyProviderSpi.class).isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.processor;
+
+import org.testng.annotations.Test;
+
+import javax.money.spi.IndexedServiceProvider;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link ServiceIndexProcessor}, running it on small sources with the system compiler.
+ */
+public class ServiceIndexProcessorTest {
+
+    private static final String SERVICE_TYPE = "javax.money.spi.ServiceProvider";
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeService(Path src, String name, boolean annotated) throws IOException {
+        write(src.resolve("p/" + name + ".java"), "package p;\n"
+                + (annotated ? "@javax.money.spi.ServicePriority(1)\n" : "")
+                + "public class " + name + " extends javax.money.spi.IndexedServiceProvider {}\n");
+    }
+
+    private static void compile(Path src, Path out, String... names) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "Tests must run on a JDK.");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<File> files = new ArrayList<>();
+            for (String name : names) {
+                files.add(src.resolve("p/" + name + ".java").toFile());
+            }
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(files);
+            List<String> options = Arrays.asList("-d", out.toString(), "-sourcepath", src.toString(),
+                    "-classpath", out + File.pathSeparator + System.getProperty("java.class.path"),
+                    "-implicit:none");
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(Collections.singletonList(new ServiceIndexProcessor()));
+            assertTrue(task.call(), "Compilation failed.");
+        }
+    }
+
+    private static List<String> readIndex(Path out) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(out.resolve(IndexedServiceProvider.INDEX_RESOURCE),
+                StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#")) {
+                entries.add(line);
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    public void testProcess_RegisteredOrAnnotatedOnly() throws IOException {
+        Path src = Files.createTempDirectory("src");
+        Path out = Files.createTempDirectory("out");
+        writeService(src, "Registered", false);
+        writeService(src, "Annotated", true);
+        writeService(src, "Unregistered", false);
+        write(src.resolve("META-INF/services/" + SERVICE_TYPE), "# services\np.Registered\n");
+        compile(src, out, "Registered", "Annotated", "Unregistered");
+        assertEquals(readIndex(out), Arrays.asList(SERVICE_TYPE + "=p.Annotated", SERVICE_TYPE + "=p.Registered"));
+    }
+
+    @Test
+    public void testProcess_Incremental() throws IOException {
+        Path src = Files.createTempDirectory("src");
+        Path out = Files.createTempDirectory("out");
+        writeService(src, "Annotated", true);
+        writeService(src, "Removed", true);
+        writeService(src, "Other", true);
+        compile(src, out, "Annotated", "Removed");
+        assertEquals(readIndex(out), Arrays.asList(SERVICE_TYPE + "=p.Annotated", SERVICE_TYPE + "=p.Removed"));
+        Files.delete(out.resolve("p/Removed.class"));
+        Files.delete(src.resolve("p/Removed.java"));
+        compile(src, out, "Other");
+        assertEquals(readIndex(out), Arrays.asList(SERVICE_TYPE + "=p.Annotated", SERVICE_TYPE + "=p.Other"));
+    }
+
+    @Test
+    public void testProcess_ExchangeRateProvider() throws IOException {
+        Path src = Files.createTempDirectory("src");
+        Path out = Files.createTempDirectory("out");
+        write(src.resolve("p/Rates.java"), "package p;\n"
+                + "import javax.money.convert.*;\n"
+                + "public class Rates extends javax.money.spi.BaseExchangeRateProvider {\n"
+                + "    public ProviderContext getContext() { return null; }\n"
+                + "    public ExchangeRate getExchangeRate(ConversionQuery query) { return null; }\n"
+                + "    public CurrencyConversion getCurrencyConversion(ConversionQuery query) { return null; }\n"
+                + "}\n");
+        write(src.resolve("META-INF/services/javax.money.convert.ExchangeRateProvider"), "p.Rates\n");
+        compile(src, out, "Rates");
+        assertEquals(readIndex(out), Collections.singletonList("javax.money.convert.ExchangeRateProvider=p.Rates"));
+    }
+}
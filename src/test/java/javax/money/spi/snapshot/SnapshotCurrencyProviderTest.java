@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2016 Credit Suisse
+ * Copyright 2018-2020 Werner Keil, Otavio Santana, Trivadis AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javax.money.spi.snapshot;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.money.CurrencyContextBuilder;
+import javax.money.CurrencyQueryBuilder;
+import javax.money.CurrencyUnit;
+import javax.money.TestCurrency;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link CurrencySnapshot} and {@link SnapshotCurrencyProvider}.
+ */
+public class SnapshotCurrencyProviderTest {
+
+    private static Map<CurrencyUnit, List<String>> createCurrencies() {
+        Map<CurrencyUnit, List<String>> currencies = new LinkedHashMap<>();
+        currencies.put(TestCurrency.of(Currency.getInstance("CHF")), Arrays.asList("CH", "LI"));
+        currencies.put(TestCurrency.of(Currency.getInstance("EUR")), Arrays.asList("DE", "AT"));
+        return currencies;
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CurrencySnapshot.write(out, createCurrencies());
+        List<CurrencyUnit> currencies = CurrencySnapshot.read(ByteBuffer.wrap(out.toByteArray())).getCurrencies();
+        assertEquals(currencies.size(), 2);
+        CurrencyUnit chf = currencies.get(0);
+        assertEquals(chf.getCurrencyCode(), "CHF");
+        assertEquals(chf.getNumericCode(), 756);
+        assertEquals(chf.getDefaultFractionDigits(), 2);
+        assertEquals(chf.getContext(), TestCurrency.of(Currency.getInstance("CHF")).getContext());
+        assertSame(currencies.get(1).getContext(), chf.getContext());
+    }
+
+    @Test
+    public void testWrite_UnsupportedAttribute() throws IOException {
+        Map<CurrencyUnit, List<String>> currencies = createCurrencies();
+        currencies.put(new SnapshotCurrency("XTS", 963, 2,
+                CurrencyContextBuilder.of("test").set("rate", BigDecimal.ONE).build(), new String[0]),
+                Collections.<String>emptyList());
+        try {
+            CurrencySnapshot.write(new ByteArrayOutputStream(), currencies);
+            fail("IllegalArgumentException expected.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("rate"));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMain_NoFile() throws IOException {
+        CurrencySnapshot.main(new String[0]);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testRead_Invalid() throws IOException {
+        CurrencySnapshot.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test
+    public void testProvider() throws IOException {
+        Path file = Files.createTempFile("currencies", ".snapshot");
+        try {
+            CurrencySnapshot.write(file, createCurrencies());
+            SnapshotCurrencyProvider provider = new SnapshotCurrencyProvider(file);
+            assertEquals(provider.getProviderName(), "snapshot");
+            Set<CurrencyUnit> currencies = provider.getCurrencies(
+                    CurrencyQueryBuilder.of().setCurrencyCodes("EUR").build());
+            assertEquals(currencies.size(), 1);
+            assertEquals(currencies.iterator().next().getCurrencyCode(), "EUR");
+            currencies = provider.getCurrencies(CurrencyQueryBuilder.of().setNumericCodes(756).build());
+            assertEquals(currencies.iterator().next().getCurrencyCode(), "CHF");
+            currencies = provider.getCurrencies(CurrencyQueryBuilder.of().setCountries(new Locale("", "LI")).build());
+            assertEquals(currencies.iterator().next().getCurrencyCode(), "CHF");
+            assertEquals(provider.getCurrencies(CurrencyQueryBuilder.of().build()).size(), 2);
+            assertFalse(provider.isCurrencyAvailable(CurrencyQueryBuilder.of().setCurrencyCodes("USD").build()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testProvider_NotConfigured() {
+        System.clearProperty(SnapshotCurrencyProvider.SNAPSHOT_PROPERTY);
+        assertTrue(new SnapshotCurrencyProvider().getCurrencies(CurrencyQueryBuilder.of().build()).isEmpty());
+    }
+}